@@ -0,0 +1,72 @@
+#!/usr/bin/env bash
+#
+# Compara el arranque de la aplicación en la JVM, con AOT, con AOT + CDS y,
+# si existe, como imagen nativa. Para cada variante mide el tiempo hasta que
+# /actuator/health responde (contexto creado, CSV cargado y réplica/índice
+# listos) y la memoria residente (RSS) en ese momento.
+#
+# Uso:
+#   mvn -Paot-cds -DskipTests package       # jar con AOT y target/cds/application.jsa
+#   mvn -Pnative -DskipTests native:compile # opcional, requiere GraalVM
+#   scripts/startup-benchmark.sh [repeticiones]
+#
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${PORT:-18080}
+PROFILES=${PROFILES:-prod}
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+TARGET="$ROOT/target"
+JAR=$(ls "$TARGET"/movieApp-*.jar 2>/dev/null | grep -v '\.original$' | head -1 || true)
+
+if [[ -z "$JAR" ]]; then
+  echo "No se encontró el jar en $TARGET; ejecuta antes mvn -Paot-cds -DskipTests package" >&2
+  exit 1
+fi
+
+now_ms() {
+  date +%s%3N
+}
+
+# measure <nombre> <directorio> <comando...>
+measure() {
+  local name=$1 dir=$2
+  shift 2
+  local total_ms=0 total_rss=0
+  for ((run = 1; run <= RUNS; run++)); do
+    local start pid elapsed rss
+    start=$(now_ms)
+    (cd "$dir" && exec "$@" --server.port="$PORT" --spring.profiles.active="$PROFILES") > "$TARGET/startup-benchmark.log" 2>&1 &
+    pid=$!
+    until curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; do
+      if ! kill -0 "$pid" 2> /dev/null; then
+        echo "$name: la aplicación terminó al arrancar, ver $TARGET/startup-benchmark.log" >&2
+        return 1
+      fi
+      sleep 0.05
+    done
+    elapsed=$(($(now_ms) - start))
+    rss=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    total_ms=$((total_ms + elapsed))
+    total_rss=$((total_rss + rss))
+  done
+  printf '%-18s %8d ms %8d MB\n' "$name" $((total_ms / RUNS)) $((total_rss / RUNS / 1024))
+}
+
+printf '%-18s %11s %11s   (media de %d arranques)\n' "Variante" "Arranque" "RSS" "$RUNS"
+measure "JVM" "$TARGET" java -jar "$JAR"
+
+if unzip -l "$JAR" | grep -q '__ApplicationContextInitializer'; then
+  measure "JVM + AOT" "$TARGET" java -Dspring.aot.enabled=true -jar "$JAR"
+fi
+
+if [[ -f "$TARGET/cds/application.jsa" ]]; then
+  measure "JVM + AOT + CDS" "$TARGET/cds" java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true \
+    -jar "$(basename "$JAR")"
+fi
+
+if [[ -x "$TARGET/movieApp" ]]; then
+  measure "Nativa" "$TARGET" "$TARGET/movieApp"
+fi
@@ -0,0 +1,44 @@
+package com.example.movieApp.admission;
+
+import com.example.movieApp.exception.listexception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Control de admisión delante de la API: mientras {@link PoolSaturationMonitor}
+ * indica que el pool está saturado, las peticiones se rechazan al momento con
+ * 503 y Retry-After en lugar de esperar conexión y acumularse en Tomcat.
+ *
+ * Los rechazos se cuentan en la métrica {@code movies.admission.shed}.
+ */
+@Component
+public class LoadSheddingInterceptor implements HandlerInterceptor {
+
+    private final PoolSaturationMonitor monitor;
+    private final Counter shed;
+    private final long retryAfterSeconds;
+
+    public LoadSheddingInterceptor(PoolSaturationMonitor monitor,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${movies.admission.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.monitor = monitor;
+        this.shed = Counter.builder("movies.admission.shed")
+                .description("Peticiones rechazadas por saturación del pool de conexiones")
+                .register(meterRegistry);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (monitor.isSaturated()) {
+            shed.increment();
+            throw new ServiceUnavailableException("Servicio saturado, reintente más tarde", retryAfterSeconds);
+        }
+        return true;
+    }
+}
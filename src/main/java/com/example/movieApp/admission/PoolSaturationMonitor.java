@@ -0,0 +1,123 @@
+package com.example.movieApp.admission;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vigila la saturación del pool de conexiones Hikari para el control de
+ * admisión ({@link LoadSheddingInterceptor}).
+ *
+ * Cada {@code movies.admission.sample-interval-ms} lee del pool los hilos que
+ * esperan conexión y, del timer {@code hikaricp.connections.acquire}, la espera
+ * media de las conexiones obtenidas desde la muestra anterior. El pool se
+ * considera saturado si cualquiera de los dos supera su umbral; así se detecta
+ * tanto una cola que crece como esperas largas aunque la cola sea corta.
+ */
+@Component
+public class PoolSaturationMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(PoolSaturationMonitor.class);
+
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long maxAcquireWaitNanos;
+    private final int maxThreadsAwaiting;
+
+    private HikariPoolMXBean pool;
+
+    private String poolName;
+    private long lastAcquireCount;
+    private double lastAcquireNanos;
+
+    private volatile boolean saturated;
+
+    public PoolSaturationMonitor(DataSource dataSource,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${movies.admission.enabled:true}") boolean enabled,
+                                 @Value("${movies.admission.max-acquire-wait-ms:50}") long maxAcquireWaitMs,
+                                 @Value("${movies.admission.max-threads-awaiting:20}") int maxThreadsAwaiting) {
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxAcquireWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxAcquireWaitMs);
+        this.maxThreadsAwaiting = maxThreadsAwaiting;
+    }
+
+    /**
+     * @return true si en la última muestra el pool estaba saturado
+     */
+    public boolean isSaturated() {
+        return saturated;
+    }
+
+    @Scheduled(fixedDelayString = "${movies.admission.sample-interval-ms:100}")
+    public synchronized void sample() {
+        if (!enabled) {
+            return;
+        }
+        HikariPoolMXBean pool = pool();
+        if (pool == null) {
+            return;
+        }
+        int awaiting = pool.getThreadsAwaitingConnection();
+        long acquireWaitNanos = recentAcquireWaitNanos();
+
+        boolean nowSaturated = awaiting > maxThreadsAwaiting || acquireWaitNanos > maxAcquireWaitNanos;
+        if (nowSaturated != saturated) {
+            if (nowSaturated) {
+                logger.warn("Pool de conexiones saturado: {} hilos esperando, espera media {} ms; se rechazarán peticiones",
+                        awaiting, TimeUnit.NANOSECONDS.toMillis(acquireWaitNanos));
+            } else {
+                logger.info("Pool de conexiones recuperado: {} hilos esperando", awaiting);
+            }
+        }
+        saturated = nowSaturated;
+    }
+
+    /**
+     * Espera media para obtener conexión desde la muestra anterior; 0 si no se obtuvo ninguna.
+     */
+    private long recentAcquireWaitNanos() {
+        // Con réplicas de lectura hay varios pools; el que se vigila es el del primario.
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").tag("pool", poolName).timer();
+        if (acquire == null) {
+            return 0;
+        }
+        long count = acquire.count();
+        double totalNanos = acquire.totalTime(TimeUnit.NANOSECONDS);
+        long waitNanos = count > lastAcquireCount
+                ? (long) ((totalNanos - lastAcquireNanos) / (count - lastAcquireCount))
+                : 0;
+        lastAcquireCount = count;
+        lastAcquireNanos = totalNanos;
+        return waitNanos;
+    }
+
+    private HikariPoolMXBean pool() {
+        if (pool == null) {
+            try {
+                if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                    // Es null hasta que el pool se inicializa con la primera conexión.
+                    HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+                    poolName = hikari.getPoolName();
+                    pool = hikari.getHikariPoolMXBean();
+                }
+            } catch (SQLException e) {
+                logger.debug("No se pudo obtener el pool de conexiones", e);
+            }
+        }
+        return pool;
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.movieApp.changefeed;
+
+import com.example.movieApp.dto.response.ChangeFeedResponse;
+import com.example.movieApp.dto.response.MovieChangeResponse;
+import com.example.movieApp.entity.MovieChange;
+import com.example.movieApp.event.MovieChangedEvent;
+import com.example.movieApp.repository.MovieChangeRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Feed de cambios del catálogo a partir del outbox ({@link MovieChangeOutbox}).
+ *
+ * Los consumidores piden los cambios posteriores a un offset. Si no hay
+ * ninguno, la petición queda en espera (long-poll) hasta que se confirme un
+ * cambio o venza el tiempo de espera, y entonces responde con una lista vacía.
+ *
+ * Los commits no consultan nada: solo avisan a un único hilo despachador, que
+ * hace una consulta desde el menor {@code after} en espera y reparte el
+ * resultado en memoria entre todos los consumidores. Los avisos que llegan
+ * mientras trabaja se agrupan en una sola pasada más, así que el coste por
+ * commit no depende del número de consumidores.
+ *
+ * Las transacciones (de este nodo o de otros) asignan {@code seq} y confirman
+ * por su cuenta, así que el orden de {@code seq} no es el de commit y un hueco
+ * puede ser un cambio aún sin confirmar. La respuesta se corta antes del primer
+ * hueco reciente (ver {@link #beforeRecentGap}), para que el consumidor no
+ * avance su offset por encima de un cambio que todavía puede aparecer.
+ */
+@Service
+public class ChangeFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeFeedService.class);
+
+    private final MovieChangeRepository changeRepository;
+    private final int maxBatch;
+    private final long maxWaitMs;
+    private final long gapTimeoutMs;
+
+    private final Set<PendingPoll> pending = ConcurrentHashMap.newKeySet();
+
+    private final AtomicBoolean dispatchScheduled = new AtomicBoolean();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "change-feed-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ChangeFeedService(MovieChangeRepository changeRepository,
+                             @Value("${movies.changes.max-batch:500}") int maxBatch,
+                             @Value("${movies.changes.max-wait-ms:30000}") long maxWaitMs,
+                             @Value("${movies.cluster.gap-timeout-ms:10000}") long gapTimeoutMs) {
+        this.changeRepository = changeRepository;
+        this.maxBatch = maxBatch;
+        this.maxWaitMs = maxWaitMs;
+        this.gapTimeoutMs = gapTimeoutMs;
+    }
+
+    /**
+     * @param after  último {@code seq} ya procesado por el consumidor
+     * @param limit  número máximo de cambios (acotado a {@code movies.changes.max-batch})
+     * @param waitMs tiempo máximo de espera si no hay cambios; 0 responde al momento
+     */
+    public DeferredResult<ChangeFeedResponse> poll(long after, int limit, long waitMs) {
+        int size = limit > 0 ? Math.min(limit, maxBatch) : maxBatch;
+        long wait = Math.max(0, Math.min(waitMs, maxWaitMs));
+
+        if (wait == 0) {
+            DeferredResult<ChangeFeedResponse> result = new DeferredResult<>();
+            result.setResult(fetch(after, size));
+            return result;
+        }
+
+        PendingPoll poll = new PendingPoll(after, size, new DeferredResult<>(wait));
+        poll.result.onTimeout(() -> poll.result.setResult(new ChangeFeedResponse(List.of(), after)));
+        poll.result.onCompletion(() -> pending.remove(poll));
+        // Se registra antes de consultar para no perder un commit que llegue entre medias.
+        pending.add(poll);
+        complete(poll);
+        return poll.result;
+    }
+
+    public ChangeFeedResponse fetch(long after, int limit) {
+        List<MovieChange> rows = changeRepository.findBySeqGreaterThanOrderBySeqAsc(after, PageRequest.of(0, limit));
+        rows = beforeRecentGap(after, rows);
+        List<MovieChangeResponse> changes = rows.stream()
+                .map(MovieChangeResponse::new)
+                .toList();
+        long next = changes.isEmpty() ? after : changes.get(changes.size() - 1).getSeq();
+        return new ChangeFeedResponse(changes, next);
+    }
+
+    /**
+     * Devuelve las filas anteriores al primer hueco de {@code seq} cuya fila
+     * siguiente se escribió hace menos de {@code movies.cluster.gap-timeout-ms}.
+     * Pasado ese tiempo el hueco se da por una transacción deshecha, igual que
+     * en {@link com.example.movieApp.cluster.OutboxPollingInvalidationChannel},
+     * y ya no frena la lectura. Cuando el cambio que falta se confirma (aquí o
+     * en otro nodo, que llega como evento remoto) despierta a los consumidores en espera;
+     * si el hueco solo caduca, lo ven en su siguiente consulta. La antigüedad
+     * se mide con el {@code changedAt} del nodo que escribió la fila, así que
+     * los relojes de los nodos deben estar sincronizados.
+     */
+    private List<MovieChange> beforeRecentGap(long after, List<MovieChange> rows) {
+        Instant recent = Instant.now().minusMillis(gapTimeoutMs);
+        long expected = after + 1;
+        for (int i = 0; i < rows.size(); i++) {
+            MovieChange row = rows.get(i);
+            if (row.getSeq() != expected && row.getChangedAt() != null && row.getChangedAt().isAfter(recent)) {
+                return rows.subList(0, i);
+            }
+            expected = row.getSeq() + 1;
+        }
+        return rows;
+    }
+
+    /**
+     * Avisa al despachador cuando se confirma un cambio; no bloquea al hilo que escribe.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieChanged(MovieChangedEvent event) {
+        if (!pending.isEmpty() && dispatchScheduled.compareAndSet(false, true)) {
+            dispatcher.execute(this::dispatch);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * Una consulta desde el menor offset en espera, repartida entre los
+     * consumidores. Si el lote vino lleno y alguno se quedó sin cambios (su
+     * offset está más allá del lote), se sigue desde el siguiente menor offset.
+     */
+    private void dispatch() {
+        // Antes de consultar, para que un commit posterior programe otra pasada.
+        dispatchScheduled.set(false);
+        try {
+            List<PendingPoll> waiting = waitingPolls(pending);
+            while (!waiting.isEmpty()) {
+                long from = waiting.stream().mapToLong(PendingPoll::after).min().getAsLong();
+                List<MovieChangeResponse> changes = fetch(from, maxBatch).getChanges();
+                if (changes.isEmpty()) {
+                    return;
+                }
+                List<PendingPoll> unsatisfied = new ArrayList<>();
+                for (PendingPoll poll : waiting) {
+                    List<MovieChangeResponse> slice = changes.stream()
+                            .filter(change -> change.getSeq() > poll.after)
+                            .limit(poll.limit)
+                            .toList();
+                    if (slice.isEmpty()) {
+                        unsatisfied.add(poll);
+                    } else {
+                        poll.result.setResult(new ChangeFeedResponse(slice, slice.get(slice.size() - 1).getSeq()));
+                    }
+                }
+                if (changes.size() < maxBatch) {
+                    return;
+                }
+                waiting = waitingPolls(unsatisfied);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Error al despachar el feed de cambios: {}", e.getMessage(), e);
+        }
+    }
+
+    private static List<PendingPoll> waitingPolls(Iterable<PendingPoll> polls) {
+        List<PendingPoll> waiting = new ArrayList<>();
+        for (PendingPoll poll : polls) {
+            if (!poll.result.isSetOrExpired()) {
+                waiting.add(poll);
+            }
+        }
+        return waiting;
+    }
+
+    private void complete(PendingPoll poll) {
+        if (poll.result.isSetOrExpired()) {
+            return;
+        }
+        ChangeFeedResponse response = fetch(poll.after, poll.limit);
+        if (!response.getChanges().isEmpty()) {
+            poll.result.setResult(response);
+        }
+    }
+
+    private record PendingPoll(long after, int limit, DeferredResult<ChangeFeedResponse> result) {
+    }
+}
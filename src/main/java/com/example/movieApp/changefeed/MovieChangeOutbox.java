@@ -0,0 +1,65 @@
+package com.example.movieApp.changefeed;
+
+import com.example.movieApp.cluster.ClusterNode;
+import com.example.movieApp.dto.response.MovieResponse;
+import com.example.movieApp.entity.MovieChange;
+import com.example.movieApp.event.MovieChangedEvent;
+import com.example.movieApp.repository.MovieChangeRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Escribe cada {@link MovieChangedEvent} en la tabla {@code movie_change}.
+ *
+ * El listener es síncrono, así que la fila se inserta dentro de la transacción
+ * que modifica la película y solo queda visible si esta se confirma.
+ *
+ * El orden de {@code seq} no tiene por qué coincidir con el orden de commit:
+ * dos transacciones concurrentes pueden confirmarse al revés de como
+ * insertaron. No se serializan aquí (eso haría esperar a todas las escrituras
+ * del proceso, incluida una importación larga); son los lectores del outbox
+ * ({@link ChangeFeedService}, la invalidación entre nodos) los que esperan a
+ * que se rellenen los huecos de {@code seq} recientes.
+ *
+ * Cada fila lleva el nodo que hizo el cambio ({@link ClusterNode}). Los eventos
+ * remotos, que replican cambios de otros nodos, no se escriben: ya tienen su fila.
+ */
+@Component
+public class MovieChangeOutbox {
+
+    private final MovieChangeRepository changeRepository;
+
+    private final String nodeId;
+
+    public MovieChangeOutbox(MovieChangeRepository changeRepository, ClusterNode clusterNode) {
+        this.changeRepository = changeRepository;
+        this.nodeId = clusterNode.getId();
+    }
+
+    @EventListener
+    public void onMovieChanged(MovieChangedEvent event) {
+        if (event.isRemote()) {
+            return;
+        }
+        changeRepository.save(toChange(event));
+    }
+
+    private MovieChange toChange(MovieChangedEvent event) {
+        MovieChange change = new MovieChange();
+        change.setType(event.getType());
+        change.setMovieId(event.getMovieId());
+        change.setOriginNode(nodeId);
+        change.setChangedAt(Instant.now());
+        MovieResponse movie = event.getMovie();
+        if (movie != null) {
+            change.setFilm(movie.getFilm());
+            change.setGenre(movie.getGenre());
+            change.setStudio(movie.getStudio());
+            change.setScore(movie.getScore());
+            change.setReleaseYear(movie.getYear());
+        }
+        return change;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.movieApp.cluster;
+
+import com.example.movieApp.dto.response.MovieResponse;
+import com.example.movieApp.event.MovieChangedEvent;
+import com.example.movieApp.repository.MovieRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Conecta los {@link MovieChangedEvent} locales con el {@link InvalidationChannel}
+ * cuando {@code movies.cluster.enabled=true}.
+ *
+ * Los cambios confirmados en este nodo se publican en el canal. Los avisos de
+ * otros nodos se convierten en un {@link MovieChangedEvent} remoto con el
+ * estado actual de la película en la base compartida, de modo que la caché
+ * cercana, la réplica columnar, el índice de IDs y el feed de cambios se
+ * actualizan igual que con un cambio local. El outbox ignora los eventos
+ * remotos, que ya tienen su fila.
+ */
+@Component
+@ConditionalOnProperty(name = "movies.cluster.enabled", havingValue = "true")
+public class ClusterEventRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterEventRelay.class);
+
+    private final InvalidationChannel channel;
+    private final MovieRepository movieRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public ClusterEventRelay(InvalidationChannel channel,
+                             MovieRepository movieRepository,
+                             ApplicationEventPublisher eventPublisher,
+                             TransactionTemplate transactionTemplate) {
+        this.channel = channel;
+        this.movieRepository = movieRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        channel.subscribe(this::onRemoteChange);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLocalChange(MovieChangedEvent event) {
+        if (!event.isRemote()) {
+            channel.publish(event.getMovieId());
+        }
+    }
+
+    /**
+     * Se lee el estado actual en lugar de usar el del aviso: si llegan dos
+     * cambios de la misma película desordenados, el último en aplicarse es
+     * siempre el más reciente. La lectura va en una transacción de lectura y
+     * escritura para que, con réplicas de lectura, se haga en el primario.
+     */
+    void onRemoteChange(int movieId) {
+        MovieChangedEvent event = transactionTemplate.execute(status -> movieRepository.findById(movieId)
+                .map(movie -> new MovieChangedEvent(MovieChangedEvent.ChangeType.UPDATED, movieId,
+                        new MovieResponse(movie), true))
+                .orElseGet(() -> new MovieChangedEvent(MovieChangedEvent.ChangeType.DELETED, movieId, null, true)));
+        logger.debug("Cambio remoto de la película {}: {}", movieId, event.getType());
+        eventPublisher.publishEvent(event);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.movieApp.cluster;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.UUID;
+
+/**
+ * Identificador de esta instancia de la aplicación dentro del clúster.
+ *
+ * Se guarda en cada fila del outbox ({@code movie_change.origin_node}) para
+ * que cada nodo distinga sus propios cambios de los que llegan de otros nodos.
+ * Se configura con {@code movies.cluster.node-id}; si está vacío se genera uno
+ * aleatorio en cada arranque.
+ */
+@Component
+public class ClusterNode {
+
+    private final String id;
+
+    public ClusterNode(@Value("${movies.cluster.node-id:}") String nodeId) {
+        this.id = StringUtils.hasText(nodeId) ? nodeId : UUID.randomUUID().toString();
+    }
+
+    public String getId() {
+        return id;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.movieApp.cluster;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Canal por el que los nodos del clúster se avisan de las películas que han
+ * cambiado, para que cada uno actualice sus copias locales (caché cercana,
+ * réplica columnar, índice de IDs).
+ *
+ * Solo transporta IDs: el nodo que recibe el aviso vuelve a leer la película
+ * de la base compartida ({@link ClusterEventRelay}), así que un aviso
+ * duplicado o desordenado no deja datos obsoletos.
+ *
+ * La implementación se elige con {@code movies.cluster.channel}; la incluida
+ * es {@link OutboxPollingInvalidationChannel}, que no necesita más
+ * infraestructura que la base de datos. Otras (Redis pub/sub, LISTEN/NOTIFY de
+ * PostgreSQL...) pueden añadirse como beans condicionados a otro valor.
+ */
+public interface InvalidationChannel {
+
+    /**
+     * Avisa a los demás nodos de un cambio ya confirmado en este nodo.
+     *
+     * @param movieId ID de la película modificada
+     */
+    void publish(int movieId);
+
+    /**
+     * Registra el receptor de los cambios hechos en otros nodos. Se llama una
+     * sola vez, al arrancar.
+     *
+     * @param listener recibe el ID de cada película modificada en otro nodo
+     */
+    void subscribe(IntConsumer listener);
+}
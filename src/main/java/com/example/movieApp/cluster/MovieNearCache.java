@@ -0,0 +1,111 @@
+package com.example.movieApp.cluster;
+
+import com.example.movieApp.dto.response.MovieResponse;
+import com.example.movieApp.event.MovieChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché local de {@code getMovieById} para el modo clúster, donde cada lectura
+ * a la base compartida es una ida y vuelta por red. Es opcional y se activa
+ * con {@code movies.near-cache.enabled=true}.
+ *
+ * Las entradas se invalidan con cada {@link MovieChangedEvent} confirmado,
+ * local o llegado de otro nodo ({@link ClusterEventRelay}). Para que una
+ * lectura que empezó antes de una invalidación no vuelva a guardar el valor
+ * viejo, {@link #put} solo guarda si la generación no ha cambiado desde que
+ * empezó la lectura. Como red de seguridad las entradas caducan a los
+ * {@code movies.near-cache.ttl-ms}.
+ *
+ * El tamaño está acotado por {@code movies.near-cache.max-entries}; al
+ * superarlo se descartan entradas arbitrarias (el orden de iteración del mapa).
+ */
+@Component
+public class MovieNearCache {
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    private final ConcurrentHashMap<Integer, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public MovieNearCache(@Value("${movies.near-cache.enabled:false}") boolean enabled,
+                          @Value("${movies.near-cache.max-entries:10000}") int maxEntries,
+                          @Value("${movies.near-cache.ttl-ms:60000}") long ttlMs) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlMs * 1_000_000;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return la película o null si no está en caché o ha caducado
+     */
+    public MovieResponse get(int id) {
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.expiresAt() > 0) {
+            entries.remove(id, entry);
+            return null;
+        }
+        return entry.movie();
+    }
+
+    /**
+     * @return generación actual, a leer antes de consultar la base
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Guarda una película leída de la base si no ha habido invalidaciones
+     * desde {@code readGeneration}.
+     */
+    public void put(int id, MovieResponse movie, long readGeneration) {
+        if (!enabled || generation.get() != readGeneration) {
+            return;
+        }
+        Entry entry = new Entry(movie, System.nanoTime() + ttlNanos);
+        entries.put(id, entry);
+        // Una invalidación entre la comprobación y el put pudo no ver esta entrada.
+        if (generation.get() != readGeneration) {
+            entries.remove(id, entry);
+        }
+        evictIfNeeded();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieChanged(MovieChangedEvent event) {
+        if (enabled) {
+            generation.incrementAndGet();
+            entries.remove(event.getMovieId());
+        }
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Integer> ids = entries.keySet().iterator();
+        while (entries.size() > maxEntries && ids.hasNext()) {
+            ids.next();
+            ids.remove();
+        }
+    }
+
+    private record Entry(MovieResponse movie, long expiresAt) {
+    }
+}
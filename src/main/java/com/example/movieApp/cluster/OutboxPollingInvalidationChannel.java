@@ -0,0 +1,133 @@
+package com.example.movieApp.cluster;
+
+import com.example.movieApp.entity.MovieChange;
+import com.example.movieApp.repository.MovieChangeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * {@link InvalidationChannel} que usa como transporte el outbox de cambios
+ * ({@code movie_change}) de la base compartida: cada nodo ya escribe ahí sus
+ * cambios en la misma transacción, así que publicar no hace nada y recibir
+ * consiste en consultar cada {@code movies.cluster.poll-interval-ms} las filas
+ * posteriores a la última vista y descartar las de este mismo nodo.
+ *
+ * Entre nodos distintos el orden de {@code seq} no tiene por qué coincidir
+ * con el orden de commit: una transacción con un {@code seq} menor puede
+ * confirmarse después de que se haya leído uno mayor. Los huecos se recuerdan
+ * y se vuelven a consultar hasta {@code movies.cluster.gap-timeout-ms}; pasado
+ * ese tiempo se dan por transacciones deshechas. El retraso máximo de un
+ * cambio es por tanto el intervalo de consulta, o el tiempo de espera de
+ * huecos si su transacción tardó en confirmarse.
+ */
+@Component
+@ConditionalOnExpression("${movies.cluster.enabled:false} and '${movies.cluster.channel:outbox-poll}' == 'outbox-poll'")
+public class OutboxPollingInvalidationChannel implements InvalidationChannel {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxPollingInvalidationChannel.class);
+
+    private final MovieChangeRepository changeRepository;
+    private final String nodeId;
+    private final int maxBatch;
+    private final long gapTimeoutNanos;
+    private final int maxGaps;
+
+    private volatile IntConsumer listener;
+
+    /** Último {@code seq} leído; -1 hasta que arranca la aplicación. Protegido por {@code this}. */
+    private long lastSeq = -1;
+
+    /** {@code seq} que faltaban al leer → instante en que se detectó el hueco. Protegido por {@code this}. */
+    private final Map<Long, Long> gaps = new LinkedHashMap<>();
+
+    public OutboxPollingInvalidationChannel(MovieChangeRepository changeRepository,
+                                            ClusterNode clusterNode,
+                                            @Value("${movies.cluster.max-batch:500}") int maxBatch,
+                                            @Value("${movies.cluster.gap-timeout-ms:10000}") long gapTimeoutMs,
+                                            @Value("${movies.cluster.max-gaps:10000}") int maxGaps) {
+        this.changeRepository = changeRepository;
+        this.nodeId = clusterNode.getId();
+        this.maxBatch = maxBatch;
+        this.gapTimeoutNanos = gapTimeoutMs * 1_000_000;
+        this.maxGaps = maxGaps;
+    }
+
+    @Override
+    public void publish(int movieId) {
+        // La fila del outbox ya es el aviso.
+    }
+
+    @Override
+    public void subscribe(IntConsumer listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Fija la posición de partida antes de que se carguen la réplica y el
+     * índice de IDs ({@code ApplicationReadyEvent}): lo que se confirme a partir
+     * de aquí se recibe aunque esas cargas ya lo hayan visto, y aplicarlo dos
+     * veces no tiene efecto.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public synchronized void start() {
+        Long max = changeRepository.findMaxSeq();
+        lastSeq = max == null ? 0 : max;
+        logger.info("Nodo {} escuchando cambios del clúster a partir de seq {}", nodeId, lastSeq);
+    }
+
+    @Scheduled(fixedDelayString = "${movies.cluster.poll-interval-ms:500}")
+    public synchronized void poll() {
+        if (listener == null || lastSeq < 0) {
+            return;
+        }
+        recheckGaps();
+        List<MovieChange> changes;
+        do {
+            changes = changeRepository.findBySeqGreaterThanOrderBySeqAsc(lastSeq, PageRequest.of(0, maxBatch));
+            long now = System.nanoTime();
+            for (MovieChange change : changes) {
+                for (long missing = lastSeq + 1; missing < change.getSeq() && gaps.size() < maxGaps; missing++) {
+                    gaps.put(missing, now);
+                }
+                lastSeq = change.getSeq();
+                deliver(change);
+            }
+        } while (changes.size() == maxBatch);
+    }
+
+    private void recheckGaps() {
+        if (gaps.isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        Iterator<Long> detected = gaps.values().iterator();
+        while (detected.hasNext()) {
+            if (now - detected.next() > gapTimeoutNanos) {
+                detected.remove();
+            }
+        }
+        for (MovieChange change : changeRepository.findAllById(gaps.keySet())) {
+            gaps.remove(change.getSeq());
+            deliver(change);
+        }
+    }
+
+    private void deliver(MovieChange change) {
+        if (!nodeId.equals(change.getOriginNode())) {
+            listener.accept(change.getMovieId());
+        }
+    }
+}
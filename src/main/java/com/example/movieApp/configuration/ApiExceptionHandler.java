@@ -7,11 +7,15 @@ import com.example.movieApp.exception.listexception.BadRequestException;
 import com.example.movieApp.exception.listexception.ConflictException;
 import com.example.movieApp.exception.ErrorMessage;
 import com.example.movieApp.exception.listexception.NotFoundException;
+import com.example.movieApp.exception.listexception.ServiceUnavailableException;
+import com.example.movieApp.exception.listexception.TooManyRequestsException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
@@ -85,6 +89,26 @@ public class ApiExceptionHandler {
         return new ErrorMessage(exception, exception.getMessage());
     }
 
+    @ExceptionHandler({
+            TooManyRequestsException.class
+    })
+    @ResponseBody
+    public ResponseEntity<ErrorMessage> tooManyRequests(HttpServletRequest request, TooManyRequestsException exception) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()))
+                .body(new ErrorMessage(exception, exception.getMessage()));
+    }
+
+    @ExceptionHandler({
+            ServiceUnavailableException.class
+    })
+    @ResponseBody
+    public ResponseEntity<ErrorMessage> serviceUnavailable(HttpServletRequest request, ServiceUnavailableException exception) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()))
+                .body(new ErrorMessage(exception, exception.getMessage()));
+    }
+
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     @ExceptionHandler({
             Exception.class
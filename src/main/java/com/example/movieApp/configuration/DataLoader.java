@@ -1,15 +1,20 @@
 package com.example.movieApp.configuration;
 
-import com.example.movieApp.entity.Movie;
-import com.example.movieApp.repository.MovieRepository;
+import com.example.movieApp.loader.CsvSegments;
+import com.example.movieApp.loader.ImportSummary;
+import com.example.movieApp.loader.MovieCsvImporter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
-import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
 
 /**
  * Componente que se ejecuta al iniciar la aplicación y carga datos iniciales
@@ -18,7 +23,16 @@ import java.io.InputStreamReader;
  * El archivo CSV debe tener el siguiente formato de columnas:
  * ID, Film, Genre, Studio, Score, Year
  *
- * Cada línea representa una película con datos separados por comas.
+ * Cada línea representa una película con datos separados por comas. Los campos
+ * pueden ir entre comillas dobles (RFC 4180), por ejemplo títulos con comas.
+ *
+ * Si se define la propiedad {@code movies.loader.csv-path}, el archivo se lee desde
+ * el sistema de archivos mapeándolo en memoria en lugar de usar el recurso del classpath.
+ * La importación se reparte entre varios núcleos con {@link MovieCsvImporter}.
+ *
+ * Con {@code movies.loader.mode=delta} la carga es incremental: usa la columna ID
+ * como clave y solo aplica las filas nuevas, modificadas o eliminadas desde la
+ * última importación, de modo que volver a ejecutarla no duplica el catálogo.
  *
  * En caso de error durante la carga, se loguean los detalles y la aplicación sigue su ejecución.
  */
@@ -27,63 +41,69 @@ public class DataLoader implements CommandLineRunner {
 
     private static final Logger logger = LoggerFactory.getLogger(DataLoader.class);
 
-    private final MovieRepository movieRepository;
+    private final MovieCsvImporter movieCsvImporter;
+
+    private final String csvPath;
 
-    public DataLoader(MovieRepository movieRepository) {
-        this.movieRepository = movieRepository;
+    private final String mode;
+
+    public DataLoader(MovieCsvImporter movieCsvImporter,
+                      @Value("${movies.loader.csv-path:}") String csvPath,
+                      @Value("${movies.loader.mode:full}") String mode) {
+        this.movieCsvImporter = movieCsvImporter;
+        this.csvPath = csvPath;
+        this.mode = mode;
     }
 
     /**
      * Método que se ejecuta automáticamente al iniciar la aplicación.
-     * Lee el archivo "movies.csv" desde recursos y carga los datos en la base.
+     * Lee el archivo CSV configurado (o "movies.csv" desde recursos) y carga los datos en la base.
      *
      * @param args argumentos de línea de comandos (no usados)
      * @throws Exception si ocurre un error crítico durante la lectura o guardado
      */
     @Override
     public void run(String... args) throws Exception {
-        try (InputStream is = getClass().getResourceAsStream("/movies.csv")) {
-            if (is == null) {
+        try {
+            List<ByteBuffer> segments = openCsv();
+            if (segments == null) {
                 logger.error("No se encontró el archivo movies.csv en resources");
                 return;
             }
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(is))) {
 
-                String line;
-                reader.readLine();
-                int count = 0;
+            ImportSummary summary = "delta".equalsIgnoreCase(mode)
+                    ? movieCsvImporter.importDelta(segments, true)
+                    : movieCsvImporter.importAll(segments, true);
 
-                while ((line = reader.readLine()) != null) {
-                    String[] fields = line.split(",");
-                    if (fields.length < 6) {
-                        logger.warn("Línea inválida (menos de 6 campos): {}", line);
-                        continue;
-                    }
-
-                    for (int i = 0; i < fields.length; i++) {
-                        fields[i] = fields[i].trim();
-                    }
-
-                    try {
-                        Movie movie = new Movie();
-
-                        movie.setFilm(fields[1]);
-                        movie.setGenre(fields[2]);
-                        movie.setStudio(fields[3]);
-                        movie.setScore(Integer.parseInt(fields[4]));
-                        movie.setReleaseYear(Integer.parseInt(fields[5]));
-
-                        movieRepository.save(movie);
-                        count++;
-                    } catch (NumberFormatException e) {
-                        logger.warn("Error parsing number en línea: {} - {}", line, e.getMessage());
-                    }
-                }
-                logger.info("Carga finalizada, películas cargadas: {}", count);
-            }
+            logger.info("Carga finalizada ({}), películas insertadas: {}, actualizadas: {}, eliminadas: {}, "
+                            + "sin cambios: {}, rechazadas: {}, particiones: {}, tiempo: {} ms ({} filas/s, {} MB/s)",
+                    mode, summary.getInserted(), summary.getUpdated(), summary.getDeleted(),
+                    summary.getUnchanged(), summary.getRejected(), summary.getPartitions(),
+                    summary.getElapsedMillis(), Math.round(summary.getRowsPerSecond()),
+                    String.format("%.1f", summary.getMegabytesPerSecond()));
         } catch (Exception e) {
-            logger.error("Error leyendo archivo movies.csv", e);
+            logger.error("Error leyendo archivo CSV de películas", e);
             throw e;
         }
     }
+
+    /**
+     * Obtiene el contenido del CSV. Si se configuró una ruta en el sistema de
+     * archivos, el archivo se mapea en memoria; si no, se lee el recurso del classpath.
+     *
+     * @return segmentos con el contenido del CSV, o null si el recurso no existe
+     */
+    private List<ByteBuffer> openCsv() throws IOException {
+        if (StringUtils.hasText(csvPath)) {
+            Path path = Path.of(csvPath);
+            logger.info("Mapeando en memoria el archivo CSV {}", path);
+            return CsvSegments.map(path);
+        }
+        try (InputStream is = getClass().getResourceAsStream("/movies.csv")) {
+            if (is == null) {
+                return null;
+            }
+            return List.of(ByteBuffer.wrap(is.readAllBytes()));
+        }
+    }
 }
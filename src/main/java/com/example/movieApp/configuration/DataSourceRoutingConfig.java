@@ -0,0 +1,79 @@
+package com.example.movieApp.configuration;
+
+import com.example.movieApp.routing.ReadReplicaProperties;
+import com.example.movieApp.routing.ReadWriteRoutingDataSource;
+import com.example.movieApp.routing.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Enrutado lectura/escritura entre el primario ({@code spring.datasource.*})
+ * y las réplicas de {@code movies.datasource.routing.replicas}. Se activa con
+ * {@code movies.datasource.routing.enabled=true}; sin él se usa el DataSource
+ * que configura Spring Boot.
+ *
+ * El DataSource que ven JPA, JdbcTemplate y el resto de la aplicación es el
+ * proxy perezoso sobre {@link ReadWriteRoutingDataSource}. Fuera de una
+ * transacción de solo lectura resuelve al primario, así que quien lo
+ * desenvuelve a {@link HikariDataSource} (importación del CSV, control de
+ * admisión) sigue viendo el pool del primario.
+ */
+@Configuration
+@ConditionalOnProperty(name = "movies.datasource.routing.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(HikariDataSource primaryDataSource,
+                                                       ReadReplicaProperties properties,
+                                                       MeterRegistry meterRegistry) {
+        List<ReadWriteRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            ReadReplicaProperties.Replica replica = properties.getReplicas().get(i);
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName(primaryDataSource.getPoolName() + "-replica-" + i);
+            dataSource.setJdbcUrl(replica.getUrl());
+            dataSource.setUsername(replica.getUsername());
+            dataSource.setPassword(replica.getPassword());
+            dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            dataSource.setConnectionTimeout(primaryDataSource.getConnectionTimeout());
+            dataSource.setValidationTimeout(primaryDataSource.getValidationTimeout());
+            dataSource.setReadOnly(true);
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(new ReadWriteRoutingDataSource.Replica("replica-" + i, dataSource));
+        }
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicas, properties.getSelection());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(HikariDataSource primaryDataSource,
+                                               ReadWriteRoutingDataSource routingDataSource,
+                                               ReadReplicaProperties properties) {
+        return new ReplicaLagMonitor(primaryDataSource, routingDataSource, properties.getMaxLagMs());
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.movieApp.configuration;
+
+import com.example.movieApp.dto.response.MovieResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Escribe los listados de películas ({@code List<MovieResponse>}) en JSON con
+ * un {@link ObjectWriter} construido una sola vez para ese tipo, en lugar de
+ * resolver el tipo raíz y su serializador en cada respuesta como hace el
+ * conversor Jackson genérico. La salida es la misma; solo se usa para
+ * escribir y el resto de tipos sigue por el conversor de Spring.
+ */
+public class MovieListMessageConverter extends AbstractGenericHttpMessageConverter<List<MovieResponse>> {
+
+    private static final ResolvableType MOVIE_LIST = ResolvableType.forClassWithGenerics(List.class, MovieResponse.class);
+
+    private final ObjectWriter writer;
+
+    public MovieListMessageConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON);
+        this.writer = objectMapper.writerFor(new TypeReference<List<MovieResponse>>() {
+        });
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return type != null && MOVIE_LIST.isAssignableFrom(ResolvableType.forType(type)) && canWrite(mediaType);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return false;
+    }
+
+    @Override
+    protected void writeInternal(List<MovieResponse> movies, Type type, HttpOutputMessage outputMessage)
+            throws IOException {
+        // ObjectWriter cierra el destino al terminar; el stream es del contenedor.
+        writer.writeValue(StreamUtils.nonClosing(outputMessage.getBody()), movies);
+    }
+
+    @Override
+    public List<MovieResponse> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Solo se usa para escribir", inputMessage);
+    }
+
+    @Override
+    protected List<MovieResponse> readInternal(Class<? extends List<MovieResponse>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Solo se usa para escribir", inputMessage);
+    }
+}
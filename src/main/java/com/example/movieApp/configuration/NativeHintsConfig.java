@@ -0,0 +1,70 @@
+package com.example.movieApp.configuration;
+
+import com.example.movieApp.dictionary.GenreConverter;
+import com.example.movieApp.dictionary.StudioConverter;
+import com.example.movieApp.dto.request.MovieRequest;
+import com.example.movieApp.dto.request.ScoreRequest;
+import com.example.movieApp.dto.response.ChangeFeedResponse;
+import com.example.movieApp.dto.response.MovieChangeResponse;
+import com.example.movieApp.dto.response.MovieColumnsResponse;
+import com.example.movieApp.dto.response.MovieResponse;
+import com.example.movieApp.dto.response.ResponseBase;
+import com.example.movieApp.dto.response.ResponseMessage;
+import com.example.movieApp.entity.Movie;
+import com.example.movieApp.entity.MovieChange;
+import com.example.movieApp.exception.ErrorMessage;
+import com.example.movieApp.exception.ValidationErrorResponse;
+import com.example.movieApp.exception.Violation;
+import com.example.movieApp.profiling.HibernateProfiling;
+import com.example.movieApp.profiling.ProfiledRequest;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Pistas para la compilación AOT y la imagen nativa de GraalVM (perfiles
+ * Maven {@code aot-cds} y {@code native}); en la JVM normal no tienen efecto.
+ *
+ * Los DTOs y entidades se serializan con Jackson a través de los getters y
+ * setters que genera Lombok, que en una imagen nativa solo existen por
+ * reflexión si se declaran aquí. Además se incluyen el CSV de carga inicial,
+ * que se lee como recurso, y las clases que Jackson e Hibernate instancian por
+ * nombre.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.MovieRuntimeHints.class)
+@RegisterReflectionForBinding({
+        MovieRequest.class,
+        ScoreRequest.class,
+        MovieResponse.class,
+        MovieColumnsResponse.class,
+        MovieChangeResponse.class,
+        ChangeFeedResponse.class,
+        ResponseBase.class,
+        ResponseMessage.class,
+        ErrorMessage.class,
+        ValidationErrorResponse.class,
+        Violation.class,
+        ProfiledRequest.class,
+        Movie.class,
+        MovieChange.class
+})
+public class NativeHintsConfig {
+
+    static class MovieRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.resources().registerPattern("movies.csv");
+            hints.reflection().registerType(TypeReference.of(MovieColumnsResponse.class.getName() + "$Serializer"),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+            hints.reflection().registerType(GenreConverter.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            hints.reflection().registerType(StudioConverter.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            hints.reflection().registerType(HibernateProfiling.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.movieApp.configuration;
+
+import com.example.movieApp.profiling.HibernateProfiling;
+import com.example.movieApp.profiling.ProfilingProperties;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ProfilingProperties.class)
+public class ProfilingConfig {
+
+    /**
+     * Registra los ganchos de perfilado en Hibernate solo si el perfilado está
+     * activado, para no añadir ni una llamada por sentencia cuando no lo está.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "movies.profiling.enabled", havingValue = "true")
+    public HibernatePropertiesCustomizer profilingHibernateCustomizer() {
+        HibernateProfiling hooks = new HibernateProfiling();
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, hooks);
+            properties.put(AvailableSettings.INTERCEPTOR, hooks);
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, HibernateProfiling.class.getName());
+        };
+    }
+}
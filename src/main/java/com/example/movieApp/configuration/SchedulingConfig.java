@@ -0,0 +1,13 @@
+package com.example.movieApp.configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Activa las tareas {@code @Scheduled} de la aplicación
+ * (por ejemplo, el volcado del buffer de puntuaciones).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,54 @@
+package com.example.movieApp.configuration;
+
+import com.example.movieApp.admission.LoadSheddingInterceptor;
+import com.example.movieApp.logging.RequestLoggingProperties;
+import com.example.movieApp.profiling.ProfilingInterceptor;
+import com.example.movieApp.ratelimit.RateLimitInterceptor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(RequestLoggingProperties.class)
+public class WebConfig implements WebMvcConfigurer {
+
+    private final RateLimitInterceptor rateLimitInterceptor;
+
+    private final LoadSheddingInterceptor loadSheddingInterceptor;
+
+    private final ProfilingInterceptor profilingInterceptor;
+
+    private final ObjectMapper objectMapper;
+
+    public WebConfig(RateLimitInterceptor rateLimitInterceptor, LoadSheddingInterceptor loadSheddingInterceptor,
+                     ProfilingInterceptor profilingInterceptor, ObjectMapper objectMapper) {
+        this.rateLimitInterceptor = rateLimitInterceptor;
+        this.loadSheddingInterceptor = loadSheddingInterceptor;
+        this.profilingInterceptor = profilingInterceptor;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Los listados de películas en JSON van por un writer precalculado, antes que el conversor Jackson genérico.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new MovieListMessageConverter(objectMapper));
+    }
+
+    /**
+     * Primero el límite por cliente, así un cliente que abusa no cuenta para la saturación del pool.
+     * El de perfilado va el último para que el tiempo de los otros no cuente como del controlador.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/api/movies/**");
+        registry.addInterceptor(loadSheddingInterceptor).addPathPatterns("/api/movies/**");
+        registry.addInterceptor(profilingInterceptor);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.movieApp.controller;
+
+import com.example.movieApp.changefeed.ChangeFeedService;
+import com.example.movieApp.dto.response.ChangeFeedResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+@RestController
+@RequestMapping("/api/movies/changes")
+@Tag(name = "Cambios", description = "Feed de cambios del catálogo de películas")
+public class ChangeFeedController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeFeedController.class);
+
+    private final ChangeFeedService changeFeedService;
+
+    public ChangeFeedController(ChangeFeedService changeFeedService) {
+        this.changeFeedService = changeFeedService;
+    }
+
+    /**
+     * Obtener los cambios posteriores a un offset
+     * @param after  Último seq procesado (opcional, default 0 = desde el principio)
+     * @param limit  Cantidad máxima de cambios (opcional, default 100)
+     * @param waitMs Espera máxima si no hay cambios (opcional, default 0 = sin espera)
+     * @return Cambios en orden de seq y el offset para la siguiente petición
+     */
+    @Operation(summary = "Feed de cambios",
+            description = "Devuelve las altas, modificaciones y bajas posteriores a 'after'. "
+                    + "Con waitMs > 0 la petición espera (long-poll) hasta que haya cambios",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Lote de cambios, vacío si venció la espera",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ChangeFeedResponse.class)))
+            })
+    @GetMapping
+    public DeferredResult<ChangeFeedResponse> getChanges(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "0") long waitMs) {
+        logger.debug("Recibida petición GET de cambios, after={}, limit={}, waitMs={}", after, limit, waitMs);
+        return changeFeedService.poll(after, limit, waitMs);
+    }
+}
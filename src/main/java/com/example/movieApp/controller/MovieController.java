@@ -2,8 +2,13 @@ package com.example.movieApp.controller;
 
 
 import com.example.movieApp.dto.request.MovieRequest;
+import com.example.movieApp.dto.request.ScoreRequest;
+import com.example.movieApp.dto.response.MovieBatchResponse;
+import com.example.movieApp.dto.response.MovieColumnsResponse;
 import com.example.movieApp.dto.response.MovieResponse;
+import com.example.movieApp.exception.listexception.BadRequestException;
 import com.example.movieApp.service.interfaces.MovieService;
+import com.example.movieApp.writebehind.ScoreWriteBehindBuffer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -11,6 +16,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -29,8 +35,15 @@ public class MovieController {
 
     private final MovieService movieService;
 
-    public MovieController(MovieService movieService) {
+    private final ScoreWriteBehindBuffer scoreBuffer;
+
+    private final int maxBatchIds;
+
+    public MovieController(MovieService movieService, ScoreWriteBehindBuffer scoreBuffer,
+                           @Value("${movies.batch.max-ids:100}") int maxBatchIds) {
         this.movieService = movieService;
+        this.scoreBuffer = scoreBuffer;
+        this.maxBatchIds = maxBatchIds;
     }
 
     /**
@@ -49,11 +62,35 @@ public class MovieController {
             })
     @GetMapping("/{id}")
     public ResponseEntity<MovieResponse> getMovieById(@PathVariable Integer id) {
-        logger.info("Recibida petición GET para película ID: {}", id);
+        logger.debug("Recibida petición GET para película ID: {}", id);
         MovieResponse response = movieService.getMovieById(id);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Obtener varias películas por ID en una sola petición
+     * @param ids IDs separados por comas (como mucho {@code movies.batch.max-ids})
+     * @return Películas encontradas e IDs inexistentes, en el orden pedido
+     */
+    @Operation(summary = "Obtener varias películas por ID",
+            description = "Devuelve en una sola petición las películas de los IDs indicados, en el mismo orden, "
+                    + "y la lista de IDs que no existen",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Películas encontradas e IDs inexistentes",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = MovieBatchResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Sin IDs o demasiados IDs",
+                            content = @Content)
+            })
+    @GetMapping("/batch")
+    public ResponseEntity<MovieBatchResponse> getMoviesByIds(@RequestParam List<Integer> ids) {
+        logger.debug("Recibida petición GET por lote de {} IDs", ids.size());
+        if (ids.isEmpty() || ids.size() > maxBatchIds) {
+            throw new BadRequestException("Se deben pedir entre 1 y " + maxBatchIds + " IDs, se pidieron " + ids.size());
+        }
+        return ResponseEntity.ok(movieService.getMoviesByIds(ids));
+    }
+
     /**
      * Listar películas ordenadas con paginación básica
      * @param total Cantidad máxima de resultados (opcional, default 10)
@@ -71,11 +108,55 @@ public class MovieController {
     public ResponseEntity<List<MovieResponse>> getMoviesOrdered(
             @RequestParam(defaultValue = "10") int total,
             @RequestParam(defaultValue = "asc") String order) {
-        logger.info("Recibida petición GET para listar películas, total={}, order={}", total, order);
+        logger.debug("Recibida petición GET para listar películas, total={}, order={}", total, order);
         List<MovieResponse> movies = movieService.getMoviesOrdered(total, order);
         return ResponseEntity.ok(movies);
     }
 
+    /**
+     * Listar películas ordenadas en formato columnar (un array por campo)
+     * @param total Cantidad máxima de resultados (opcional, default 10)
+     * @param order Orden alfabético asc o desc (opcional, default asc)
+     * @return Columnas de la lista de películas
+     */
+    @Operation(summary = "Listar películas ordenadas (columnar)",
+            description = "Igual que el listado ordenado, pero con Accept: " + MovieColumnsResponse.MEDIA_TYPE
+                    + " devuelve un array por campo en lugar de un objeto por película",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Columnas de la lista de películas",
+                            content = @Content(mediaType = MovieColumnsResponse.MEDIA_TYPE))
+            })
+    @GetMapping(value = "/all/ordered", produces = MovieColumnsResponse.MEDIA_TYPE)
+    public ResponseEntity<MovieColumnsResponse> getMoviesOrderedColumns(
+            @RequestParam(defaultValue = "10") int total,
+            @RequestParam(defaultValue = "asc") String order) {
+        logger.debug("Recibida petición GET para listar películas en columnas, total={}, order={}", total, order);
+        return ResponseEntity.ok(new MovieColumnsResponse(movieService.getMoviesOrdered(total, order)));
+    }
+
+    /**
+     * Películas similares a una dada
+     * @param id ID de la película
+     * @param limit Cantidad máxima de resultados (opcional, default 10)
+     * @return Lista de películas de más a menos parecida, o 404 si no existe
+     */
+    @Operation(summary = "Películas similares",
+            description = "Devuelve las películas más parecidas por género, estudio, puntuación y año, "
+                    + "desde un índice precalculado",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Lista de películas similares",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = MovieResponse.class))),
+                    @ApiResponse(responseCode = "404", description = "Película no encontrada",
+                            content = @Content)
+            })
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<List<MovieResponse>> getSimilarMovies(@PathVariable int id,
+                                                                @RequestParam(defaultValue = "10") int limit) {
+        logger.debug("Recibida petición GET de películas similares a ID: {}, limit={}", id, limit);
+        return ResponseEntity.ok(movieService.getSimilarMovies(id, limit));
+    }
+
     /**
      * Crear una nueva película
      * @param movieRequest DTO con datos de la película a crear, validado automáticamente
@@ -92,7 +173,7 @@ public class MovieController {
             })
     @PostMapping
     public ResponseEntity<MovieResponse> createMovie(@Valid @RequestBody MovieRequest movieRequest) {
-        logger.info("Recibida petición POST para crear película: {}", movieRequest.getFilm());
+        logger.debug("Recibida petición POST para crear película: {}", movieRequest.getFilm());
         MovieResponse createdMovie = movieService.createMovie(movieRequest);
 
         URI location = ServletUriComponentsBuilder
@@ -127,11 +208,43 @@ public class MovieController {
     @PutMapping("/{id}")
     public ResponseEntity<MovieResponse> updateMovie(@PathVariable int id,
                                                      @Valid @RequestBody MovieRequest movieRequest) {
-        logger.info("Recibida petición PUT para actualizar película ID: {}", id);
+        logger.debug("Recibida petición PUT para actualizar película ID: {}", id);
+        scoreBuffer.discard(id);
         MovieResponse updatedMovie = movieService.updateMovieById(movieRequest, id);
         return ResponseEntity.ok(updatedMovie);
     }
 
+    /**
+     * Actualizar solo la puntuación de una película
+     * @param id ID de la película
+     * @param scoreRequest DTO con la nueva puntuación, validado automáticamente
+     * @return MovieResponse actualizado, o 202 sin cuerpo si la escritura se difiere (write-behind)
+     */
+    @Operation(summary = "Actualizar la puntuación de una película",
+            description = "Actualiza la puntuación de una película dado su ID. Con el modo write-behind activo "
+                    + "la escritura se agrupa con otras y se confirma en el siguiente volcado",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Puntuación actualizada",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = MovieResponse.class))),
+                    @ApiResponse(responseCode = "202", description = "Puntuación aceptada para escritura diferida",
+                            content = @Content),
+                    @ApiResponse(responseCode = "404", description = "Película no encontrada",
+                            content = @Content),
+                    @ApiResponse(responseCode = "429", description = "Demasiadas puntuaciones pendientes",
+                            content = @Content)
+            })
+    @PatchMapping("/{id}/score")
+    public ResponseEntity<MovieResponse> updateMovieScore(@PathVariable int id,
+                                                          @Valid @RequestBody ScoreRequest scoreRequest) {
+        logger.debug("Recibida petición PATCH de puntuación para película ID: {}", id);
+        if (scoreBuffer.isEnabled()) {
+            scoreBuffer.submit(id, scoreRequest.getScore());
+            return ResponseEntity.accepted().build();
+        }
+        return ResponseEntity.ok(movieService.updateMovieScore(id, scoreRequest.getScore()));
+    }
+
     /**
      * Eliminar película por ID
      * @param id ID de la película a eliminar
@@ -146,7 +259,8 @@ public class MovieController {
             })
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteMovie(@PathVariable int id) {
-        logger.info("Recibida petición DELETE para película ID: {}", id);
+        logger.debug("Recibida petición DELETE para película ID: {}", id);
+        scoreBuffer.discard(id);
         return movieService.deleteMovieById(id);
     }
 }
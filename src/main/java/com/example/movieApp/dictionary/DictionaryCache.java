@@ -0,0 +1,164 @@
+package com.example.movieApp.dictionary;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caché en memoria, bidireccional, de una tabla de diccionario (id, name).
+ *
+ * Traduce nombres a códigos enteros y viceversa sin consultar la base salvo
+ * la primera vez o cuando aparece un valor nuevo. {@link #decode(int)} devuelve
+ * siempre la misma instancia de String para un código, así que las entidades
+ * cacheadas comparten los nombres en lugar de tener una copia cada una.
+ *
+ * Los valores nuevos se insertan con una conexión propia en autocommit, fuera de
+ * la transacción de la película: una entrada del diccionario que quede sin usar
+ * tras un rollback no es un problema, y así el código es válido para cualquier
+ * transacción desde el primer momento.
+ */
+public class DictionaryCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(DictionaryCache.class);
+
+    private final String table;
+    private final DataSource dataSource;
+
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[0];
+    private volatile boolean loaded;
+
+    public DictionaryCache(String table, DataSource dataSource) {
+        this.table = table;
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * @param name nombre a codificar
+     * @return código del nombre; si no existía se crea
+     */
+    public int encode(String name) {
+        ensureLoaded();
+        Integer code = codes.get(name);
+        if (code != null) {
+            return code;
+        }
+        return insert(name);
+    }
+
+    /**
+     * @param code código guardado en la película
+     * @return nombre asociado
+     * @throws IllegalStateException si el código no existe en la tabla
+     */
+    public String decode(int code) {
+        ensureLoaded();
+        String name = lookup(code);
+        if (name == null) {
+            // Puede haberlo creado otra instancia de la aplicación.
+            reload();
+            name = lookup(code);
+            if (name == null) {
+                throw new IllegalStateException("Código " + code + " no encontrado en la tabla " + table);
+            }
+        }
+        return name;
+    }
+
+    /**
+     * @return número de valores distintos conocidos
+     */
+    public int size() {
+        ensureLoaded();
+        return codes.size();
+    }
+
+    private String lookup(int code) {
+        String[] snapshot = names;
+        return code >= 0 && code < snapshot.length ? snapshot[code] : null;
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            reload();
+        }
+    }
+
+    private synchronized void reload() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT id, name FROM " + table)) {
+            Map<Integer, String> rows = new HashMap<>();
+            while (rs.next()) {
+                rows.put(rs.getInt(1), rs.getString(2));
+            }
+            register(rows);
+            loaded = true;
+        } catch (SQLException e) {
+            throw new IllegalStateException("No se pudo cargar la tabla de diccionario " + table, e);
+        }
+    }
+
+    private synchronized int insert(String name) {
+        Integer existing = codes.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "INSERT INTO " + table + " (name) VALUES (?)", Statement.RETURN_GENERATED_KEYS)) {
+                ps.setString(1, name);
+                ps.executeUpdate();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    keys.next();
+                    int code = keys.getInt(1);
+                    register(Map.of(code, name));
+                    logger.debug("Nuevo valor en {}: {} -> {}", table, name, code);
+                    return code;
+                }
+            }
+        } catch (SQLException e) {
+            // Otra instancia pudo insertar el mismo nombre a la vez (clave única).
+            reload();
+            existing = codes.get(name);
+            if (existing != null) {
+                return existing;
+            }
+            throw new IllegalStateException("No se pudo insertar '" + name + "' en la tabla " + table, e);
+        }
+    }
+
+    /**
+     * Publica nuevas entradas: primero el array de nombres (copy-on-write) y
+     * después los códigos, para que un código obtenido con encode siempre
+     * pueda decodificarse.
+     */
+    private synchronized void register(Map<Integer, String> entries) {
+        String[] snapshot = names;
+        int maxCode = snapshot.length - 1;
+        for (int code : entries.keySet()) {
+            maxCode = Math.max(maxCode, code);
+        }
+        snapshot = Arrays.copyOf(snapshot, Math.max(maxCode + 1, snapshot.length));
+        for (Map.Entry<Integer, String> entry : entries.entrySet()) {
+            if (snapshot[entry.getKey()] == null) {
+                snapshot[entry.getKey()] = entry.getValue();
+            }
+        }
+        names = snapshot;
+        for (Map.Entry<Integer, String> entry : entries.entrySet()) {
+            codes.putIfAbsent(snapshot[entry.getKey()], entry.getKey());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.movieApp.dictionary;
+
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Diccionarios de valores de baja cardinalidad de las películas (género y estudio).
+ *
+ * Las filas de {@code movie} guardan códigos enteros en {@code genre_id} y
+ * {@code studio_id}; los conversores JPA y la importación CSV usan estas cachés
+ * para traducirlos a nombres y viceversa.
+ */
+@Component
+public class MovieDictionaries {
+
+    private final DictionaryCache genres;
+    private final DictionaryCache studios;
+
+    public MovieDictionaries(DataSource dataSource) {
+        this.genres = new DictionaryCache("genre", dataSource);
+        this.studios = new DictionaryCache("studio", dataSource);
+    }
+
+    public DictionaryCache genres() {
+        return genres;
+    }
+
+    public DictionaryCache studios() {
+        return studios;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.movieApp.dictionary;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Guarda el nombre del estudio como código entero de la tabla {@code studio}.
+ * Hibernate crea la instancia a través de Spring, por eso admite inyección.
+ */
+@Converter
+public class StudioConverter implements AttributeConverter<String, Integer> {
+
+    private final MovieDictionaries dictionaries;
+
+    public StudioConverter(MovieDictionaries dictionaries) {
+        this.dictionaries = dictionaries;
+    }
+
+    @Override
+    public Integer convertToDatabaseColumn(String name) {
+        return name == null ? null : dictionaries.studios().encode(name);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer code) {
+        return code == null ? null : dictionaries.studios().decode(code);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.movieApp.dto.request;
+
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class ScoreRequest {
+
+    @NotNull(message = "La puntuación es obligatoria")
+    @Min(value = 0, message = "La puntuación debe ser al menos 0")
+    @Max(value = 10, message = "La puntuación no puede ser mayor que 10")
+    private Integer score;
+}
@@ -0,0 +1,20 @@
+package com.example.movieApp.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeFeedResponse {
+
+    private List<MovieChangeResponse> changes;
+
+    /**
+     * Valor de {@code after} para la siguiente petición.
+     */
+    private long nextOffset;
+}
@@ -0,0 +1,23 @@
+package com.example.movieApp.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieBatchResponse {
+
+    /**
+     * Películas encontradas, en el orden en que se pidieron.
+     */
+    private List<MovieResponse> movies;
+
+    /**
+     * IDs pedidos que no existen, también en el orden de la petición.
+     */
+    private List<Integer> missing;
+}
@@ -0,0 +1,36 @@
+package com.example.movieApp.dto.response;
+
+import com.example.movieApp.entity.MovieChange;
+import com.example.movieApp.event.MovieChangedEvent;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieChangeResponse {
+
+    private Long seq;
+    private MovieChangedEvent.ChangeType type;
+    private Integer movieId;
+
+    /**
+     * Estado de la película tras el cambio; null si se eliminó.
+     */
+    private MovieResponse movie;
+    private Instant changedAt;
+
+    public MovieChangeResponse(MovieChange change) {
+        this.seq = change.getSeq();
+        this.type = change.getType();
+        this.movieId = change.getMovieId();
+        if (change.getType() != MovieChangedEvent.ChangeType.DELETED) {
+            this.movie = new MovieResponse(change.getMovieId(), change.getFilm(), change.getGenre(),
+                    change.getStudio(), change.getScore(), change.getReleaseYear());
+        }
+        this.changedAt = change.getChangedAt();
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.movieApp.dto.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Listado de películas en formato columnar: un array por campo en lugar de un
+ * objeto por película, así los nombres de campo aparecen una sola vez.
+ *
+ * <pre>
+ * {"count":2,"id":[1,2],"film":["Up","Cars"],"genre":[...],"studio":[...],"score":[...],"year":[...]}
+ * </pre>
+ *
+ * Se sirve con {@code Accept: application/vnd.movies.columnar+json} y se
+ * escribe directamente con el {@link JsonGenerator}, sin introspección de
+ * {@link MovieResponse} por cada elemento.
+ */
+@Getter
+@JsonSerialize(using = MovieColumnsResponse.Serializer.class)
+public class MovieColumnsResponse {
+
+    public static final String MEDIA_TYPE = "application/vnd.movies.columnar+json";
+
+    private final List<MovieResponse> movies;
+
+    public MovieColumnsResponse(List<MovieResponse> movies) {
+        this.movies = movies;
+    }
+
+    static class Serializer extends StdSerializer<MovieColumnsResponse> {
+
+        Serializer() {
+            super(MovieColumnsResponse.class);
+        }
+
+        @Override
+        public void serialize(MovieColumnsResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            List<MovieResponse> movies = value.getMovies();
+            int count = movies.size();
+            gen.writeStartObject();
+            gen.writeNumberField("count", count);
+
+            gen.writeArrayFieldStart("id");
+            for (MovieResponse movie : movies) {
+                writeNumber(gen, movie.getId());
+            }
+            gen.writeEndArray();
+
+            gen.writeArrayFieldStart("film");
+            for (MovieResponse movie : movies) {
+                gen.writeString(movie.getFilm());
+            }
+            gen.writeEndArray();
+
+            gen.writeArrayFieldStart("genre");
+            for (MovieResponse movie : movies) {
+                gen.writeString(movie.getGenre());
+            }
+            gen.writeEndArray();
+
+            gen.writeArrayFieldStart("studio");
+            for (MovieResponse movie : movies) {
+                gen.writeString(movie.getStudio());
+            }
+            gen.writeEndArray();
+
+            gen.writeArrayFieldStart("score");
+            for (MovieResponse movie : movies) {
+                writeNumber(gen, movie.getScore());
+            }
+            gen.writeEndArray();
+
+            gen.writeArrayFieldStart("year");
+            for (MovieResponse movie : movies) {
+                writeNumber(gen, movie.getYear());
+            }
+            gen.writeEndArray();
+
+            gen.writeEndObject();
+        }
+
+        private static void writeNumber(JsonGenerator gen, Integer value) throws IOException {
+            if (value == null) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(value);
+            }
+        }
+    }
+}
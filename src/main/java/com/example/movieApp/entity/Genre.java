@@ -0,0 +1,24 @@
+package com.example.movieApp.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Tabla de diccionario de géneros. Las películas guardan solo el código
+ * entero ({@code genre_id}) y el nombre se resuelve con
+ * {@link com.example.movieApp.dictionary.MovieDictionaries}.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class Genre {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(nullable = false, unique = true)
+    private String name;
+}
@@ -1,5 +1,7 @@
 package com.example.movieApp.entity;
 
+import com.example.movieApp.dictionary.GenreConverter;
+import com.example.movieApp.dictionary.StudioConverter;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.NoArgsConstructor;
@@ -11,6 +13,11 @@ import lombok.AllArgsConstructor;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
+@Table(indexes = {
+        @Index(name = "uk_movie_source_id", columnList = "source_id", unique = true),
+        @Index(name = "idx_movie_genre_id", columnList = "genre_id"),
+        @Index(name = "idx_movie_studio_id", columnList = "studio_id")
+})
 public class Movie {
 
     @Id
@@ -19,8 +26,18 @@ public class Movie {
 
     private String film;
 
+    /**
+     * Se guarda como código de la tabla {@code genre} (ver {@link GenreConverter}).
+     */
+    @Column(name = "genre_id")
+    @Convert(converter = GenreConverter.class)
     private String genre;
 
+    /**
+     * Se guarda como código de la tabla {@code studio} (ver {@link StudioConverter}).
+     */
+    @Column(name = "studio_id")
+    @Convert(converter = StudioConverter.class)
     private String studio;
 
     private Integer score;
@@ -28,6 +45,26 @@ public class Movie {
     @Column(name = "release_year")
     private Integer releaseYear;
 
+    /**
+     * ID de la fila en el CSV de origen; null para películas creadas por la API.
+     * Es único, así que dos importaciones simultáneas no pueden duplicar el catálogo.
+     */
+    @Column(name = "source_id")
+    private Integer sourceId;
 
+    /**
+     * Hash de la fila del CSV en la última importación, para detectar cambios.
+     */
+    @Column(name = "row_hash")
+    private Long rowHash;
+
+    public Movie(Integer id, String film, String genre, String studio, Integer score, Integer releaseYear) {
+        this.id = id;
+        this.film = film;
+        this.genre = genre;
+        this.studio = studio;
+        this.score = score;
+        this.releaseYear = releaseYear;
+    }
 
 }
@@ -0,0 +1,55 @@
+package com.example.movieApp.entity;
+
+import com.example.movieApp.event.MovieChangedEvent;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Fila del outbox de cambios: se escribe en la misma transacción que el cambio
+ * de la película, con una copia de su estado, y alimenta el feed de cambios
+ * ({@code GET /api/movies/changes}).
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "movie_change")
+public class MovieChange {
+
+    /**
+     * Posición en el feed; los consumidores piden los cambios posteriores a ella.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private MovieChangedEvent.ChangeType type;
+
+    @Column(name = "movie_id", nullable = false)
+    private Integer movieId;
+
+    private String film;
+
+    private String genre;
+
+    private String studio;
+
+    private Integer score;
+
+    @Column(name = "release_year")
+    private Integer releaseYear;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+
+    /**
+     * Nodo del clúster que hizo el cambio ({@code movies.cluster.node-id}).
+     */
+    @Column(name = "origin_node", length = 64)
+    private String originNode;
+}
@@ -0,0 +1,21 @@
+package com.example.movieApp.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Fila única que hace de cerrojo de la importación incremental. El nodo que
+ * la bloquea ({@code SELECT ... FOR UPDATE}) es el único que importa hasta
+ * confirmar su transacción; el resto espera y después solo ve filas sin cambios.
+ */
+@Entity
+@Table(name = "movie_import_lock")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieImportLock {
+
+    @Id
+    private Integer id;
+}
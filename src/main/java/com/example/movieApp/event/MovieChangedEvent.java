@@ -0,0 +1,60 @@
+package com.example.movieApp.event;
+
+import com.example.movieApp.dto.response.MovieResponse;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Evento publicado por {@link com.example.movieApp.service.MovieServiceImpl}
+ * cada vez que se crea, actualiza o elimina una película.
+ *
+ * Los componentes que mantienen copias derivadas del catálogo (réplicas,
+ * cachés, índices) lo escuchan para actualizarse de forma incremental.
+ */
+@Getter
+@ToString
+public class MovieChangedEvent {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final ChangeType type;
+    private final int movieId;
+
+    /**
+     * Estado de la película tras el cambio; null si se eliminó.
+     */
+    private final MovieResponse movie;
+
+    /**
+     * true si el cambio se hizo en otro nodo del clúster y este evento solo lo
+     * replica localmente (ver {@link com.example.movieApp.cluster.ClusterEventRelay}).
+     */
+    private final boolean remote;
+
+    public MovieChangedEvent(ChangeType type, int movieId, MovieResponse movie) {
+        this(type, movieId, movie, false);
+    }
+
+    public MovieChangedEvent(ChangeType type, int movieId, MovieResponse movie, boolean remote) {
+        this.type = type;
+        this.movieId = movieId;
+        this.movie = movie;
+        this.remote = remote;
+    }
+
+    public static MovieChangedEvent created(MovieResponse movie) {
+        return new MovieChangedEvent(ChangeType.CREATED, movie.getId(), movie);
+    }
+
+    public static MovieChangedEvent updated(MovieResponse movie) {
+        return new MovieChangedEvent(ChangeType.UPDATED, movie.getId(), movie);
+    }
+
+    public static MovieChangedEvent deleted(int movieId) {
+        return new MovieChangedEvent(ChangeType.DELETED, movieId, null);
+    }
+}
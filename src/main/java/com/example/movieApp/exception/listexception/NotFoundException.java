@@ -8,8 +8,12 @@ import lombok.EqualsAndHashCode;
 public class NotFoundException extends RuntimeException {
     private static final String DESCRIPTION = "Not found exception (404)";
 
+    /**
+     * Sin stack trace: es un resultado esperado (404) y no un error, y rellenar
+     * la traza era la parte más cara de cada respuesta de "no encontrado".
+     */
     public NotFoundException(String detail) {
-        super(detail);
+        super(detail, null, false, false);
 
     }
 }
@@ -0,0 +1,20 @@
+package com.example.movieApp.exception.listexception;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@EqualsAndHashCode(callSuper = true)
+@Data
+public class ServiceUnavailableException extends RuntimeException{
+    private static final String DESCRIPTION = "Service unavailable exception (503)";
+
+    /**
+     * Segundos que el cliente debería esperar antes de reintentar (cabecera Retry-After).
+     */
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String detail, long retryAfterSeconds) {
+        super(detail);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
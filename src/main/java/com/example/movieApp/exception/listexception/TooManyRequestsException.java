@@ -0,0 +1,20 @@
+package com.example.movieApp.exception.listexception;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@EqualsAndHashCode(callSuper = true)
+@Data
+public class TooManyRequestsException extends RuntimeException{
+    private static final String DESCRIPTION = "Too many requests exception (429)";
+
+    /**
+     * Segundos que el cliente debería esperar antes de reintentar (cabecera Retry-After).
+     */
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String detail, long retryAfterSeconds) {
+        super(detail);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
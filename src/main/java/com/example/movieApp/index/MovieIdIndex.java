@@ -0,0 +1,132 @@
+package com.example.movieApp.index;
+
+import com.example.movieApp.event.MovieChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Conjunto de los IDs de película existentes, para responder 404 sin ir a la
+ * base de datos. Como los IDs son enteros secuenciales basta un bitset
+ * (1 bit por ID) que es exacto, en lugar de un filtro de Bloom.
+ *
+ * El índice solo puede equivocarse en el sentido seguro: un bit puesto para
+ * un ID que no existe hace que se consulte la base como antes. Para ello las
+ * altas se marcan antes del commit y las bajas se quitan después del commit;
+ * una alta que se deshace deja el bit puesto, que solo cuesta una consulta.
+ * En modo clúster las altas de otros nodos se marcan cuando llega su aviso,
+ * con el mismo retraso acotado que el resto de copias locales.
+ *
+ * Se activa con {@code movies.id-index.enabled} (por defecto sí) y se carga
+ * al arrancar la aplicación, después de la importación del CSV.
+ */
+@Component
+public class MovieIdIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(MovieIdIndex.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    private volatile AtomicLongArray bits = new AtomicLongArray(1024);
+    private volatile boolean ready;
+
+    public MovieIdIndex(JdbcTemplate jdbcTemplate,
+                        @Value("${movies.id-index.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        int[] count = {0};
+        jdbcTemplate.query("SELECT id FROM movie", rs -> {
+            add(rs.getInt(1));
+            count[0]++;
+        });
+        ready = true;
+        logger.info("Índice de IDs cargado: {} películas, {} bytes en {} ms",
+                count[0], bits.length() * Long.BYTES, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * @return true si el índice está cargado y sus respuestas son fiables
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @return false solo si la película seguro que no existe
+     */
+    public boolean mightContain(int id) {
+        if (id < 0) {
+            return false;
+        }
+        AtomicLongArray current = bits;
+        int word = id >>> 6;
+        // Un ID fuera del array nunca se añadió: add() amplía el array antes de marcarlo.
+        return word < current.length() && (current.get(word) & (1L << id)) != 0;
+    }
+
+    /**
+     * Las altas se marcan dentro de la transacción, antes de que el ID sea visible para nadie.
+     * También se marcan las actualizaciones: un cambio llegado de otro nodo del clúster
+     * siempre es UPDATED aunque la película sea nueva para este nodo.
+     */
+    @EventListener
+    public void onMovieCreated(MovieChangedEvent event) {
+        if (enabled && event.getType() != MovieChangedEvent.ChangeType.DELETED) {
+            add(event.getMovieId());
+        }
+    }
+
+    /**
+     * Las bajas se quitan solo cuando el borrado está confirmado.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieDeleted(MovieChangedEvent event) {
+        if (enabled && event.getType() == MovieChangedEvent.ChangeType.DELETED) {
+            remove(event.getMovieId());
+        }
+    }
+
+    /**
+     * Las escrituras (altas, bajas y carga) se serializan; las lecturas no
+     * bloquean porque cada palabra se lee con semántica volatile.
+     */
+    private synchronized void add(int id) {
+        int word = id >>> 6;
+        if (word >= bits.length()) {
+            grow(word);
+        }
+        bits.getAndAccumulate(word, 1L << id, (value, mask) -> value | mask);
+    }
+
+    private synchronized void remove(int id) {
+        int word = id >>> 6;
+        if (word < bits.length()) {
+            bits.getAndAccumulate(word, ~(1L << id), (value, mask) -> value & mask);
+        }
+    }
+
+    private void grow(int word) {
+        AtomicLongArray current = bits;
+        AtomicLongArray bigger = new AtomicLongArray(Math.max(word + 1, current.length() * 2));
+        for (int i = 0; i < current.length(); i++) {
+            bigger.set(i, current.get(i));
+        }
+        bits = bigger;
+    }
+}
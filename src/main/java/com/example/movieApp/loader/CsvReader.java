@@ -0,0 +1,353 @@
+package com.example.movieApp.loader;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Lector CSV (RFC 4180) que trabaja directamente sobre un {@link ByteBuffer},
+ * normalmente un archivo mapeado en memoria.
+ *
+ * El lector no copia el contenido: por cada registro solo guarda los offsets de
+ * inicio y fin de cada campo, y los campos se decodifican a {@link String} bajo
+ * demanda mediante {@link #field(int)}. Los números se leen sin crear Strings
+ * con {@link #intField(int)} y los valores repetidos pueden deduplicarse con
+ * {@link #field(int, ValueInterner)}.
+ *
+ * Soporta campos entre comillas dobles (con comas, saltos de línea y comillas
+ * escapadas como {@code ""}), finales de línea LF o CRLF, y recorta los espacios
+ * alrededor de los campos sin comillas, igual que hacía la carga original con trim().
+ *
+ * No es thread-safe: cada hilo debe usar su propia instancia.
+ */
+public final class CsvReader {
+
+    private static final byte COMMA = ',';
+    private static final byte QUOTE = '"';
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+
+    private static final byte PLAIN = 0;
+    private static final byte QUOTED = 1;
+    private static final byte ESCAPED = 2;
+
+    private final ByteBuffer buffer;
+    private final int limit;
+    private int position;
+
+    private int[] starts = new int[8];
+    private int[] ends = new int[8];
+    private byte[] kinds = new byte[8];
+    private int fieldCount;
+
+    private int recordStart;
+    private int recordEnd;
+    private boolean malformed;
+    private long recordNumber;
+
+    private byte[] scratch = new byte[256];
+
+    /**
+     * @param buffer datos CSV en UTF-8; se leen los bytes entre position y limit
+     *               sin modificar el estado del buffer
+     */
+    public CsvReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.position = buffer.position();
+        this.limit = buffer.limit();
+    }
+
+    /**
+     * Avanza al siguiente registro. Las líneas vacías se ignoran.
+     *
+     * @return false si no quedan más registros
+     */
+    public boolean next() {
+        while (position < limit) {
+            byte b = buffer.get(position);
+            if (b == CR || b == LF) {
+                position++;
+                continue;
+            }
+            parseRecord();
+            return true;
+        }
+        fieldCount = 0;
+        return false;
+    }
+
+    private void parseRecord() {
+        recordStart = position;
+        fieldCount = 0;
+        malformed = false;
+        recordNumber++;
+
+        while (true) {
+            int pos = skipSpaces(position);
+            if (pos < limit && buffer.get(pos) == QUOTE) {
+                pos = parseQuoted(pos + 1);
+            } else {
+                pos = parsePlain(pos);
+            }
+
+            if (pos >= limit) {
+                position = limit;
+                recordEnd = limit;
+                return;
+            }
+            byte b = buffer.get(pos);
+            if (b == COMMA) {
+                position = pos + 1;
+                continue;
+            }
+            recordEnd = pos;
+            position = skipLineEnd(pos);
+            return;
+        }
+    }
+
+    private int parsePlain(int pos) {
+        int start = pos;
+        while (pos < limit) {
+            byte b = buffer.get(pos);
+            if (b == COMMA || b == CR || b == LF) {
+                break;
+            }
+            pos++;
+        }
+        int end = pos;
+        while (end > start && isSpace(buffer.get(end - 1))) {
+            end--;
+        }
+        addField(start, end, PLAIN);
+        return pos;
+    }
+
+    private int parseQuoted(int pos) {
+        int start = pos;
+        byte kind = QUOTED;
+        while (true) {
+            if (pos >= limit) {
+                // Comilla sin cerrar: el campo llega hasta el final de los datos.
+                malformed = true;
+                addField(start, limit, kind);
+                return limit;
+            }
+            if (buffer.get(pos) == QUOTE) {
+                if (pos + 1 < limit && buffer.get(pos + 1) == QUOTE) {
+                    kind = ESCAPED;
+                    pos += 2;
+                    continue;
+                }
+                break;
+            }
+            pos++;
+        }
+        addField(start, pos, kind);
+
+        // Tras la comilla de cierre solo se admiten espacios hasta el separador.
+        pos = skipSpaces(pos + 1);
+        while (pos < limit) {
+            byte b = buffer.get(pos);
+            if (b == COMMA || b == CR || b == LF) {
+                break;
+            }
+            malformed = true;
+            pos++;
+        }
+        return pos;
+    }
+
+    private int skipSpaces(int pos) {
+        while (pos < limit && isSpace(buffer.get(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private int skipLineEnd(int pos) {
+        if (buffer.get(pos) == CR) {
+            pos++;
+        }
+        if (pos < limit && buffer.get(pos) == LF) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t';
+    }
+
+    private void addField(int start, int end, byte kind) {
+        if (fieldCount == starts.length) {
+            int size = fieldCount * 2;
+            starts = Arrays.copyOf(starts, size);
+            ends = Arrays.copyOf(ends, size);
+            kinds = Arrays.copyOf(kinds, size);
+        }
+        starts[fieldCount] = start;
+        ends[fieldCount] = end;
+        kinds[fieldCount] = kind;
+        fieldCount++;
+    }
+
+    /**
+     * @return número de campos del registro actual
+     */
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * @return true si el registro actual tiene comillas mal cerradas o texto
+     * después de una comilla de cierre
+     */
+    public boolean isMalformed() {
+        return malformed;
+    }
+
+    /**
+     * @return número de registro (empezando en 1) dentro de este buffer
+     */
+    public long recordNumber() {
+        return recordNumber;
+    }
+
+    /**
+     * Decodifica el campo indicado del registro actual.
+     *
+     * @param index posición del campo (0..fieldCount-1)
+     * @return valor del campo, sin comillas ni escapes
+     */
+    public String field(int index) {
+        checkIndex(index);
+        int length = copyField(index);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Devuelve el campo indicado reutilizando una instancia ya creada si el
+     * interner ya vio los mismos bytes. Pensado para columnas con pocos valores
+     * distintos (género, estudio).
+     */
+    public String field(int index, ValueInterner interner) {
+        checkIndex(index);
+        if (kinds[index] == ESCAPED) {
+            return interner.intern(field(index));
+        }
+        return interner.intern(buffer, starts[index], ends[index]);
+    }
+
+    /**
+     * Lee el campo indicado como entero sin crear objetos intermedios.
+     *
+     * @throws NumberFormatException si el campo no es un entero válido
+     */
+    public int intField(int index) {
+        checkIndex(index);
+        int pos = starts[index];
+        int end = ends[index];
+        if (kinds[index] != PLAIN) {
+            while (pos < end && isSpace(buffer.get(pos))) {
+                pos++;
+            }
+            while (end > pos && isSpace(buffer.get(end - 1))) {
+                end--;
+            }
+        }
+        if (pos == end) {
+            throw new NumberFormatException("Campo vacío en la posición " + index);
+        }
+
+        boolean negative = false;
+        byte first = buffer.get(pos);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            pos++;
+            if (pos == end) {
+                throw new NumberFormatException("For input string: \"" + field(index) + "\"");
+            }
+        }
+
+        // Se acumula en negativo para poder representar Integer.MIN_VALUE.
+        int result = 0;
+        int limitValue = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        int multiplyLimit = limitValue / 10;
+        while (pos < end) {
+            int digit = buffer.get(pos++) - '0';
+            if (digit < 0 || digit > 9 || result < multiplyLimit) {
+                throw new NumberFormatException("For input string: \"" + field(index) + "\"");
+            }
+            result *= 10;
+            if (result < limitValue + digit) {
+                throw new NumberFormatException("For input string: \"" + field(index) + "\"");
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * Calcula un hash de 64 bits (FNV-1a) sobre los bytes de los campos
+     * [from, to) del registro actual, sin decodificarlos. Sirve para detectar
+     * si una fila cambió entre dos importaciones.
+     */
+    public long hashFields(int from, int to) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = from; i < to; i++) {
+            checkIndex(i);
+            for (int pos = starts[i]; pos < ends[i]; pos++) {
+                hash ^= buffer.get(pos) & 0xff;
+                hash *= 0x100000001b3L;
+            }
+            // Separador para que "ab","c" y "a","bc" den hashes distintos.
+            hash ^= 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Decodifica el registro completo tal como aparece en el archivo; se usa
+     * solo para mensajes de log de filas inválidas.
+     */
+    public String record() {
+        int length = recordEnd - recordStart;
+        byte[] bytes = new byte[length];
+        buffer.get(recordStart, bytes, 0, length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int copyField(int index) {
+        int start = starts[index];
+        int length = ends[index] - start;
+        ensureScratch(length);
+        buffer.get(start, scratch, 0, length);
+        if (kinds[index] != ESCAPED) {
+            return length;
+        }
+        // Sustituye cada "" por una sola comilla.
+        int write = 0;
+        for (int read = 0; read < length; read++) {
+            byte b = scratch[read];
+            scratch[write++] = b;
+            if (b == QUOTE) {
+                read++;
+            }
+        }
+        return write;
+    }
+
+    private void ensureScratch(int length) {
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= fieldCount) {
+            throw new IndexOutOfBoundsException("Campo " + index + " fuera de rango, el registro tiene " + fieldCount);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.movieApp.loader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utilidades para obtener los datos CSV como {@link ByteBuffer}.
+ *
+ * Un {@link MappedByteBuffer} no puede superar los 2 GB, así que los archivos
+ * grandes se mapean en varios segmentos. Cada segmento termina en un límite de
+ * registro (un salto de línea fuera de comillas) para que pueda leerse con un
+ * {@link CsvReader} independiente.
+ */
+public final class CsvSegments {
+
+    /** Tamaño máximo de cada segmento mapeado. */
+    static final int MAX_SEGMENT_SIZE = 1 << 30;
+
+    private CsvSegments() {
+    }
+
+    /**
+     * Mapea en memoria (solo lectura) el archivo indicado.
+     *
+     * @param path ruta del archivo CSV
+     * @return segmentos que cubren el archivo completo, en orden
+     * @throws IOException si no se puede leer el archivo o un registro supera el tamaño máximo de segmento
+     */
+    public static List<ByteBuffer> map(Path path) throws IOException {
+        return map(path, MAX_SEGMENT_SIZE);
+    }
+
+    static List<ByteBuffer> map(Path path, int maxSegmentSize) throws IOException {
+        List<ByteBuffer> segments = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long offset = 0;
+            while (offset < size) {
+                long window = Math.min(maxSegmentSize, size - offset);
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, offset, window);
+                int length = (int) window;
+                if (offset + window < size) {
+                    length = lastRecordEnd(mapped, 0, length);
+                    if (length <= 0) {
+                        throw new IOException("Registro CSV mayor que " + maxSegmentSize + " bytes en el offset " + offset);
+                    }
+                }
+                segments.add(mapped.slice(0, length));
+                offset += length;
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * Divide un buffer en {@code parts} rangos de tamaño similar que empiezan y
+     * terminan en límites de registro, para leerlos en paralelo.
+     *
+     * Para no cortar un campo entre comillas que contenga saltos de línea se
+     * recorre el buffer una vez siguiendo las comillas como {@link CsvReader}
+     * ({@link RecordBoundaries}); es un bucle mucho más barato que el parseo en sí.
+     *
+     * @param buffer datos CSV entre position y limit
+     * @param parts  número de rangos deseado
+     * @return rangos no vacíos, en orden; puede haber menos de {@code parts}
+     */
+    public static List<ByteBuffer> split(ByteBuffer buffer, int parts) {
+        int start = buffer.position();
+        int end = buffer.limit();
+        List<ByteBuffer> ranges = new ArrayList<>(Math.max(parts, 1));
+        if (parts <= 1 || end - start < parts) {
+            if (end > start) {
+                ranges.add(buffer.slice(start, end - start));
+            }
+            return ranges;
+        }
+
+        long step = (long) (end - start) / parts;
+        int rangeStart = start;
+        RecordBoundaries boundaries = new RecordBoundaries();
+        for (int i = start; i < end && ranges.size() < parts - 1; i++) {
+            if (boundaries.isRecordEnd(buffer.get(i)) && i + 1 >= start + step * (ranges.size() + 1)) {
+                ranges.add(buffer.slice(rangeStart, i + 1 - rangeStart));
+                rangeStart = i + 1;
+            }
+        }
+        if (rangeStart < end) {
+            ranges.add(buffer.slice(rangeStart, end - rangeStart));
+        }
+        return ranges;
+    }
+
+    /**
+     * Busca el último salto de línea fuera de comillas en [from, to). Se asume
+     * que {@code from} es el inicio de un registro.
+     *
+     * @return posición siguiente a ese salto de línea, o -1 si no hay ninguno
+     */
+    static int lastRecordEnd(ByteBuffer buffer, int from, int to) {
+        RecordBoundaries boundaries = new RecordBoundaries();
+        int last = -1;
+        for (int i = from; i < to; i++) {
+            if (boundaries.isRecordEnd(buffer.get(i))) {
+                last = i + 1;
+            }
+        }
+        return last;
+    }
+
+    /**
+     * Sigue byte a byte si se está dentro de un campo entre comillas con las
+     * mismas reglas que {@link CsvReader}: una comilla solo abre el campo si
+     * es lo primero que tiene (tras espacios); en un campo sin comillas, o
+     * tras la comilla de cierre, es un carácter más. Dentro de las comillas
+     * {@code ""} es una comilla escapada.
+     */
+    private static final class RecordBoundaries {
+
+        private static final int FIELD_START = 0;
+        private static final int PLAIN = 1;
+        private static final int QUOTED = 2;
+        private static final int QUOTE_IN_QUOTED = 3;
+
+        private int state = FIELD_START;
+
+        /**
+         * @return true si el byte es un salto de línea que termina un registro
+         */
+        boolean isRecordEnd(byte b) {
+            switch (state) {
+                case QUOTED -> {
+                    if (b == '"') {
+                        state = QUOTE_IN_QUOTED;
+                    }
+                    return false;
+                }
+                case QUOTE_IN_QUOTED -> {
+                    if (b == '"') {
+                        state = QUOTED;
+                        return false;
+                    }
+                }
+                case FIELD_START -> {
+                    if (b == '"') {
+                        state = QUOTED;
+                        return false;
+                    }
+                    if (b == ' ' || b == '\t') {
+                        return false;
+                    }
+                }
+                default -> {
+                }
+            }
+            // Fuera de comillas: solo la coma y el fin de línea cambian de campo.
+            if (b == ',' || b == '\r' || b == '\n') {
+                state = FIELD_START;
+                return b == '\n';
+            }
+            state = PLAIN;
+            return false;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.movieApp.loader;
+
+import lombok.Getter;
+
+/**
+ * Resultado de una importación de películas desde CSV.
+ *
+ * En una importación completa todas las filas válidas cuentan como insertadas;
+ * en una importación incremental se distinguen insertadas, actualizadas,
+ * eliminadas y sin cambios.
+ */
+@Getter
+public class ImportSummary {
+
+    private final long inserted;
+    private final long updated;
+    private final long deleted;
+    private final long unchanged;
+    private final long rejected;
+    private final int partitions;
+    private final long bytes;
+    private final long elapsedNanos;
+
+    public ImportSummary(long inserted, long updated, long deleted, long unchanged, long rejected,
+                         int partitions, long bytes, long elapsedNanos) {
+        this.inserted = inserted;
+        this.updated = updated;
+        this.deleted = deleted;
+        this.unchanged = unchanged;
+        this.rejected = rejected;
+        this.partitions = partitions;
+        this.bytes = bytes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return filas escritas en la base (insertadas + actualizadas)
+     */
+    public long getLoaded() {
+        return inserted + updated;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : (getLoaded() + unchanged + rejected) * 1e9 / elapsedNanos;
+    }
+
+    public double getMegabytesPerSecond() {
+        return elapsedNanos == 0 ? 0 : bytes * 1e9 / elapsedNanos / (1024 * 1024);
+    }
+}
@@ -0,0 +1,536 @@
+package com.example.movieApp.loader;
+
+import com.example.movieApp.dictionary.MovieDictionaries;
+import com.example.movieApp.dto.response.MovieResponse;
+import com.example.movieApp.event.MovieChangedEvent;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.ByteBuffer;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Importa películas desde CSV repartiendo el trabajo entre varios núcleos.
+ *
+ * La entrada se divide en rangos que terminan en límites de registro
+ * ({@link CsvSegments#split}). Cada rango se parsea en su propio hilo y se inserta
+ * con su propia conexión y transacción usando batching JDBC, sin pasar por JPA.
+ *
+ * Hay dos modos:
+ * <ul>
+ *     <li>{@link #importAll}: inserta todas las filas (carga inicial).</li>
+ *     <li>{@link #importDelta}: usa la columna ID del CSV como clave y un hash por
+ *     fila para aplicar solo inserciones, actualizaciones (MERGE por lotes) y
+ *     eliminaciones de las filas que cambiaron desde la última importación.</li>
+ * </ul>
+ *
+ * Género y estudio se guardan como códigos de diccionario ({@link MovieDictionaries});
+ * los valores repetidos se resuelven sin consultar la base.
+ *
+ * La importación incremental se serializa entre nodos con un cerrojo en la base
+ * ({@link com.example.movieApp.entity.MovieImportLock}), y el ID de origen es
+ * único, así que varios nodos que arrancan a la vez no duplican el catálogo.
+ * Cada alta, modificación o baja que aplica se publica como
+ * {@link MovieChangedEvent}, igual que los cambios hechos por la API: queda en
+ * el outbox y los demás nodos la reciben.
+ *
+ * Las filas inválidas se registran en el log indicando la partición y al final
+ * se devuelve un {@link ImportSummary} con los totales y el throughput.
+ */
+@Component
+public class MovieCsvImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(MovieCsvImporter.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO movie (source_id, film, genre_id, studio_id, score, release_year, row_hash) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String MERGE_SQL =
+            "MERGE INTO movie t USING (VALUES (CAST(? AS INTEGER), CAST(? AS VARCHAR(255)), "
+                    + "CAST(? AS INTEGER), CAST(? AS INTEGER), CAST(? AS INTEGER), "
+                    + "CAST(? AS INTEGER), CAST(? AS BIGINT))) "
+                    + "AS s(source_id, film, genre_id, studio_id, score, release_year, row_hash) "
+                    + "ON t.source_id = s.source_id "
+                    + "WHEN MATCHED THEN UPDATE SET film = s.film, genre_id = s.genre_id, studio_id = s.studio_id, "
+                    + "score = s.score, release_year = s.release_year, row_hash = s.row_hash "
+                    + "WHEN NOT MATCHED THEN INSERT (source_id, film, genre_id, studio_id, score, release_year, row_hash) "
+                    + "VALUES (s.source_id, s.film, s.genre_id, s.studio_id, s.score, s.release_year, s.row_hash)";
+
+    private static final String SNAPSHOT_SQL =
+            "SELECT source_id, row_hash FROM movie WHERE source_id IS NOT NULL ORDER BY source_id";
+
+    private static final String DELETE_SQL = "DELETE FROM movie WHERE source_id = ?";
+
+    private static final String CHANGED_SQL =
+            "SELECT id, source_id, film, genre_id, studio_id, score, release_year FROM movie WHERE source_id IN ";
+
+    private static final String DELETED_IDS_SQL = "SELECT id FROM movie WHERE source_id IN ";
+
+    private static final String CREATE_LOCK_SQL =
+            "INSERT INTO movie_import_lock (id) SELECT 1 WHERE NOT EXISTS (SELECT 1 FROM movie_import_lock WHERE id = 1)";
+
+    private static final String LOCK_SQL = "SELECT id FROM movie_import_lock WHERE id = 1 FOR UPDATE";
+
+    /** Tamaño mínimo de cada partición; por debajo no compensa repartir el trabajo. */
+    private static final int MIN_PARTITION_SIZE = 1 << 20;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MovieDictionaries dictionaries;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int partitions;
+    private final int batchSize;
+
+    public MovieCsvImporter(JdbcTemplate jdbcTemplate,
+                            MovieDictionaries dictionaries,
+                            ApplicationEventPublisher eventPublisher,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${movies.loader.partitions:0}") int partitions,
+                            @Value("${movies.loader.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dictionaries = dictionaries;
+        this.eventPublisher = eventPublisher;
+        this.transactionManager = transactionManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Las particiones y los lotes de cambios confirman por su cuenta, nunca
+        // dentro de la transacción del cerrojo, que dura toda la importación.
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.partitions = partitions > 0 ? partitions : defaultPartitions(jdbcTemplate.getDataSource());
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Un hilo por núcleo, dejando siempre dos conexiones libres del pool: cada
+     * partición retiene una conexión durante su transacción, la importación
+     * incremental otra para el cerrojo y los diccionarios otra para registrar
+     * valores nuevos.
+     */
+    private static int defaultPartitions(DataSource dataSource) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        try {
+            if (dataSource != null && dataSource.isWrapperFor(HikariDataSource.class)) {
+                int poolSize = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+                return Math.max(1, Math.min(cores, poolSize - 2));
+            }
+        } catch (SQLException e) {
+            logger.debug("No se pudo obtener el tamaño del pool de conexiones", e);
+        }
+        return cores;
+    }
+
+    /**
+     * Inserta todos los registros de los segmentos indicados.
+     *
+     * @param segments   contenido del CSV, en orden
+     * @param skipHeader si el primer registro es la cabecera y debe ignorarse
+     * @return resumen de la importación
+     * @throws Exception si falla la inserción de alguna partición
+     */
+    public ImportSummary importAll(List<ByteBuffer> segments, boolean skipHeader) throws Exception {
+        return run(segments, skipHeader, null);
+    }
+
+    /**
+     * Aplica solo las diferencias entre el CSV y lo cargado en la última
+     * importación: filas nuevas, filas cuyo hash cambió y filas que ya no
+     * están en el CSV. Las películas creadas por la API (sin ID de origen)
+     * no se tocan. Una fila inválida con el ID legible conserva la película
+     * tal como estaba; si alguna fila no tiene ID legible no se elimina nada.
+     * El coste es proporcional al número de cambios más una lectura
+     * secuencial del CSV.
+     *
+     * Toda la importación se hace con el cerrojo de importación tomado, así
+     * que si otro nodo está importando se espera a que termine y el snapshot
+     * ya incluye sus filas. Esa transacción solo retiene el cerrojo: las
+     * escrituras y los eventos de los cambios van en transacciones cortas por
+     * lote, así que el outbox y las escrituras de la API no esperan al final
+     * de la importación. Si el catálogo estaba vacío (primera carga) no se publica nada: ningún nodo
+     * tiene todavía una copia que actualizar.
+     *
+     * @param segments   contenido del CSV, en orden
+     * @param skipHeader si el primer registro es la cabecera y debe ignorarse
+     * @return resumen de la importación
+     * @throws Exception si falla la escritura de alguna partición
+     */
+    public ImportSummary importDelta(List<ByteBuffer> segments, boolean skipHeader) throws Exception {
+        createImportLock();
+        // La transacción del cerrojo solo guarda el cerrojo y lee el snapshot; las
+        // particiones, los eventos y los borrados confirman en transacciones propias.
+        TransactionStatus lock = transactionManager.getTransaction(TransactionDefinition.withDefaults());
+        try {
+            jdbcTemplate.queryForObject(LOCK_SQL, Integer.class);
+            SourceSnapshot snapshot = new SourceSnapshot();
+            jdbcTemplate.query(SNAPSHOT_SQL, rs -> {
+                snapshot.add(rs.getInt(1), rs.getLong(2));
+            });
+            logger.info("Importación incremental: {} filas de origen ya cargadas", snapshot.size());
+            ImportSummary summary = run(segments, skipHeader, snapshot);
+            transactionManager.commit(lock);
+            return summary;
+        } finally {
+            if (!lock.isCompleted()) {
+                transactionManager.rollback(lock);
+            }
+        }
+    }
+
+    /**
+     * Crea la fila del cerrojo si no existe. Si dos nodos la crean a la vez,
+     * el segundo recibe un error de clave duplicada que se ignora.
+     */
+    private void createImportLock() {
+        try {
+            jdbcTemplate.update(CREATE_LOCK_SQL);
+        } catch (DuplicateKeyException e) {
+            logger.debug("La fila del cerrojo de importación ya existe");
+        }
+    }
+
+    private ImportSummary run(List<ByteBuffer> segments, boolean skipHeader, SourceSnapshot snapshot) throws Exception {
+        long startTime = System.nanoTime();
+
+        long bytes = 0;
+        for (ByteBuffer segment : segments) {
+            bytes += segment.remaining();
+        }
+        int parts = (int) Math.max(1, Math.min(partitions, bytes / MIN_PARTITION_SIZE));
+
+        List<ByteBuffer> ranges = new ArrayList<>();
+        for (ByteBuffer segment : segments) {
+            int segmentParts = (int) Math.max(1, Math.round((double) parts * segment.remaining() / Math.max(bytes, 1)));
+            ranges.addAll(CsvSegments.split(segment, segmentParts));
+        }
+
+        PartitionResult total = new PartitionResult(snapshot);
+        boolean publishChanges = snapshot != null && snapshot.size() > 0;
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parts, Math.max(ranges.size(), 1)), r -> {
+            Thread thread = new Thread(r, "csv-import-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<PartitionResult>> results = new ArrayList<>(ranges.size());
+            for (int i = 0; i < ranges.size(); i++) {
+                int partition = i;
+                ByteBuffer range = ranges.get(i);
+                boolean header = skipHeader && i == 0;
+                results.add(executor.submit(() -> transactionTemplate.execute(status ->
+                        importPartition(partition, range, header, snapshot))));
+            }
+            for (Future<PartitionResult> result : results) {
+                total.add(getResult(result));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (publishChanges) {
+            publishChanges(snapshot, total.changed);
+        }
+
+        long deleted = 0;
+        if (snapshot != null && total.unidentified > 0) {
+            logger.warn("Importación incremental: {} filas sin ID de origen legible, no se eliminan "
+                    + "películas ausentes en esta ejecución", total.unidentified);
+        } else if (snapshot != null) {
+            deleted = deleteMissing(snapshot, total.seen, publishChanges);
+        }
+
+        return new ImportSummary(total.inserted, total.updated, deleted, total.unchanged, total.rejected,
+                ranges.size(), bytes, System.nanoTime() - startTime);
+    }
+
+    private static PartitionResult getResult(Future<PartitionResult> result) throws Exception {
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Parsea y escribe un rango del CSV dentro de la transacción actual.
+     * Sin snapshot se insertan todas las filas; con snapshot solo las nuevas
+     * o modificadas, mediante MERGE.
+     */
+    private PartitionResult importPartition(int partition, ByteBuffer range, boolean skipHeader,
+                                            SourceSnapshot snapshot) {
+        CsvReader reader = new CsvReader(range);
+        ValueInterner genres = new ValueInterner();
+        ValueInterner studios = new ValueInterner();
+        MovieBatch batch = new MovieBatch(batchSize);
+        String sql = snapshot == null ? INSERT_SQL : MERGE_SQL;
+        PartitionResult result = new PartitionResult(snapshot);
+
+        if (skipHeader) {
+            reader.next();
+        }
+        while (reader.next()) {
+            Integer sourceId = null;
+            int snapshotIndex = -1;
+            if (snapshot != null) {
+                // El ID se marca como visto antes de validar el resto: una fila con
+                // el ID legible nunca provoca el borrado de la película existente.
+                // Con comillas mal formadas el registro puede haberse tragado los
+                // siguientes, así que tampoco se sabe qué IDs contenía.
+                sourceId = reader.isMalformed() ? null : parseSourceId(reader);
+                if (sourceId == null) {
+                    logger.warn("[partición {}] Línea sin ID de origen legible: {}", partition, reader.record());
+                    result.rejected++;
+                    result.unidentified++;
+                    continue;
+                }
+                snapshotIndex = snapshot.indexOf(sourceId);
+                if (snapshotIndex >= 0) {
+                    result.seen.set(snapshotIndex);
+                }
+            }
+            if (reader.fieldCount() < 6) {
+                logger.warn("[partición {}] Línea inválida (menos de 6 campos): {}", partition, reader.record());
+                result.rejected++;
+                continue;
+            }
+            if (reader.isMalformed()) {
+                logger.warn("[partición {}] Línea inválida (comillas mal formadas): {}", partition, reader.record());
+                result.rejected++;
+                continue;
+            }
+
+            long hash = reader.hashFields(1, 6);
+            try {
+                int score = reader.intField(4);
+                int year = reader.intField(5);
+                if (snapshot == null) {
+                    sourceId = parseSourceId(reader);
+                } else if (snapshotIndex >= 0 && snapshot.hashAt(snapshotIndex) == hash) {
+                    result.unchanged++;
+                    continue;
+                }
+                int genre = dictionaries.genres().encode(reader.field(2, genres));
+                int studio = dictionaries.studios().encode(reader.field(3, studios));
+                batch.add(sourceId, reader.field(1), genre, studio, score, year, hash);
+            } catch (NumberFormatException e) {
+                logger.warn("[partición {}] Error parsing number en línea: {} - {}", partition, reader.record(), e.getMessage());
+                result.rejected++;
+                continue;
+            }
+
+            if (snapshotIndex >= 0) {
+                result.updated++;
+            } else {
+                result.inserted++;
+            }
+            if (snapshot != null && snapshot.size() > 0) {
+                result.changed.add(sourceId);
+            }
+            if (batch.isFull()) {
+                flush(sql, batch);
+            }
+        }
+        flush(sql, batch);
+
+        logger.debug("[partición {}] insertadas: {}, actualizadas: {}, sin cambios: {}, rechazadas: {}",
+                partition, result.inserted, result.updated, result.unchanged, result.rejected);
+        return result;
+    }
+
+    /**
+     * En la carga completa el ID del CSV es opcional: si no es numérico la fila
+     * se carga igualmente, sin ID de origen.
+     */
+    private static Integer parseSourceId(CsvReader reader) {
+        try {
+            return reader.intField(0);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Publica un evento por cada fila insertada o modificada, leyendo en lotes
+     * el ID y los valores que quedaron en la base. Cada lote va en su propia
+     * transacción, que escribe sus filas del outbox y se confirma al momento.
+     */
+    private void publishChanges(SourceSnapshot snapshot, List<Integer> sourceIds) {
+        for (int from = 0; from < sourceIds.size(); from += batchSize) {
+            List<Integer> chunk = sourceIds.subList(from, Math.min(from + batchSize, sourceIds.size()));
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(
+                    CHANGED_SQL + placeholders(chunk.size()), rs -> {
+                        MovieResponse movie = new MovieResponse(rs.getInt(1), rs.getString(3),
+                                dictionaries.genres().decode(rs.getInt(4)), dictionaries.studios().decode(rs.getInt(5)),
+                                rs.getInt(6), rs.getInt(7));
+                        eventPublisher.publishEvent(snapshot.indexOf(rs.getInt(2)) >= 0
+                                ? MovieChangedEvent.updated(movie)
+                                : MovieChangedEvent.created(movie));
+                    }, chunk.toArray()));
+        }
+    }
+
+    /**
+     * Elimina en lotes las filas de la importación anterior que ya no aparecen en el CSV.
+     * No se llama si alguna fila se rechazó sin poder leer su ID, porque podría
+     * ser una película existente. Cada lote, con sus eventos, se confirma por separado.
+     */
+    private long deleteMissing(SourceSnapshot snapshot, BitSet seen, boolean publishChanges) {
+        List<Object[]> pending = new ArrayList<>();
+        for (int i = seen.nextClearBit(0); i < snapshot.size(); i = seen.nextClearBit(i + 1)) {
+            pending.add(new Object[]{snapshot.sourceIdAt(i)});
+        }
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        for (int from = 0; from < pending.size(); from += batchSize) {
+            List<Object[]> chunk = pending.subList(from, Math.min(from + batchSize, pending.size()));
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Integer> movieIds = publishChanges
+                        ? jdbcTemplate.queryForList(DELETED_IDS_SQL + placeholders(chunk.size()), Integer.class,
+                                chunk.stream().map(row -> row[0]).toArray())
+                        : List.of();
+                jdbcTemplate.batchUpdate(DELETE_SQL, chunk);
+                movieIds.forEach(id -> eventPublisher.publishEvent(MovieChangedEvent.deleted(id)));
+            });
+        }
+        return pending.size();
+    }
+
+    private static String placeholders(int count) {
+        return "(" + "?, ".repeat(count - 1) + "?)";
+    }
+
+    private void flush(String sql, MovieBatch batch) {
+        if (batch.size == 0) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(sql, batch);
+        batch.clear();
+    }
+
+    /**
+     * Contadores de una partición (o del total). En modo incremental incluye
+     * qué posiciones del snapshot aparecieron en el CSV.
+     */
+    private static final class PartitionResult {
+
+        private final BitSet seen;
+
+        /** IDs de origen insertados o modificados, para publicar sus eventos. */
+        private final List<Integer> changed = new ArrayList<>();
+        private long inserted;
+        private long updated;
+        private long unchanged;
+        private long rejected;
+
+        /** Filas rechazadas sin poder leer su ID: impiden eliminar ausentes. */
+        private long unidentified;
+
+        PartitionResult(SourceSnapshot snapshot) {
+            this.seen = new BitSet(snapshot == null ? 0 : snapshot.size());
+        }
+
+        void add(PartitionResult other) {
+            seen.or(other.seen);
+            changed.addAll(other.changed);
+            inserted += other.inserted;
+            updated += other.updated;
+            unchanged += other.unchanged;
+            rejected += other.rejected;
+            unidentified += other.unidentified;
+        }
+    }
+
+    /**
+     * Lote de filas pendientes de escribir, guardado en arrays reutilizables.
+     * El orden de parámetros es el mismo para INSERT y MERGE.
+     */
+    private static final class MovieBatch implements BatchPreparedStatementSetter {
+
+        private final Integer[] sourceIds;
+        private final String[] films;
+        private final int[] genres;
+        private final int[] studios;
+        private final int[] scores;
+        private final int[] years;
+        private final long[] hashes;
+        private int size;
+
+        MovieBatch(int capacity) {
+            sourceIds = new Integer[capacity];
+            films = new String[capacity];
+            genres = new int[capacity];
+            studios = new int[capacity];
+            scores = new int[capacity];
+            years = new int[capacity];
+            hashes = new long[capacity];
+        }
+
+        void add(Integer sourceId, String film, int genre, int studio, int score, int year, long hash) {
+            sourceIds[size] = sourceId;
+            films[size] = film;
+            genres[size] = genre;
+            studios[size] = studio;
+            scores[size] = score;
+            years[size] = year;
+            hashes[size] = hash;
+            size++;
+        }
+
+        boolean isFull() {
+            return size == films.length;
+        }
+
+        void clear() {
+            Arrays.fill(sourceIds, 0, size, null);
+            Arrays.fill(films, 0, size, null);
+            size = 0;
+        }
+
+        @Override
+        public void setValues(PreparedStatement ps, int i) throws SQLException {
+            if (sourceIds[i] == null) {
+                ps.setNull(1, Types.INTEGER);
+            } else {
+                ps.setInt(1, sourceIds[i]);
+            }
+            ps.setString(2, films[i]);
+            ps.setInt(3, genres[i]);
+            ps.setInt(4, studios[i]);
+            ps.setInt(5, scores[i]);
+            ps.setInt(6, years[i]);
+            ps.setLong(7, hashes[i]);
+        }
+
+        @Override
+        public int getBatchSize() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.movieApp.loader;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Estado de la última importación: pares (ID de origen, hash de fila) ordenados
+ * por ID de origen en arrays primitivos, para que un catálogo grande no cueste
+ * un objeto por fila.
+ *
+ * Las búsquedas son binarias y el registro de IDs vistos es un {@link BitSet}
+ * por partición que se combina al final para calcular las eliminaciones.
+ */
+final class SourceSnapshot {
+
+    private int[] sourceIds = new int[1024];
+    private long[] hashes = new long[1024];
+    private int size;
+
+    /**
+     * Añade una fila; deben añadirse en orden creciente de ID de origen.
+     */
+    void add(int sourceId, long hash) {
+        if (size == sourceIds.length) {
+            sourceIds = Arrays.copyOf(sourceIds, size * 2);
+            hashes = Arrays.copyOf(hashes, size * 2);
+        }
+        sourceIds[size] = sourceId;
+        hashes[size] = hash;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return posición del ID de origen o un valor negativo si no existe
+     */
+    int indexOf(int sourceId) {
+        return Arrays.binarySearch(sourceIds, 0, size, sourceId);
+    }
+
+    long hashAt(int index) {
+        return hashes[index];
+    }
+
+    int sourceIdAt(int index) {
+        return sourceIds[index];
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.movieApp.loader;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Tabla pequeña que asocia secuencias de bytes UTF-8 con una única instancia de
+ * {@link String}. Cuando un valor ya se vio antes, se devuelve la misma instancia
+ * sin decodificar ni reservar memoria.
+ *
+ * Está pensada para columnas de baja cardinalidad como género o estudio. Si se
+ * supera la capacidad máxima, los valores nuevos se decodifican sin guardarse.
+ *
+ * No es thread-safe.
+ */
+public final class ValueInterner {
+
+    private static final int DEFAULT_MAX_ENTRIES = 1024;
+
+    private final int maxEntries;
+    private byte[][] keys;
+    private String[] values;
+    private int[] hashes;
+    private int size;
+
+    public ValueInterner() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public ValueInterner(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.keys = new byte[16][];
+        this.values = new String[16];
+        this.hashes = new int[16];
+    }
+
+    /**
+     * Devuelve la instancia canónica para los bytes [start, end) del buffer.
+     */
+    public String intern(ByteBuffer buffer, int start, int end) {
+        int hash = hash(buffer, start, end);
+        int mask = keys.length - 1;
+        int slot = hash & mask;
+        while (keys[slot] != null) {
+            if (hashes[slot] == hash && equals(keys[slot], buffer, start, end)) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        byte[] key = new byte[end - start];
+        buffer.get(start, key, 0, key.length);
+        String value = new String(key, StandardCharsets.UTF_8);
+        if (size < maxEntries) {
+            put(slot, key, value, hash);
+        }
+        return value;
+    }
+
+    /**
+     * Devuelve la instancia canónica de un valor ya decodificado.
+     */
+    public String intern(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        return intern(ByteBuffer.wrap(bytes), 0, bytes.length);
+    }
+
+    /**
+     * @return número de valores distintos guardados
+     */
+    public int size() {
+        return size;
+    }
+
+    private void put(int slot, byte[] key, String value, int hash) {
+        keys[slot] = key;
+        values[slot] = value;
+        hashes[slot] = hash;
+        size++;
+        if (size * 2 > keys.length) {
+            resize();
+        }
+    }
+
+    private void resize() {
+        byte[][] oldKeys = keys;
+        String[] oldValues = values;
+        int[] oldHashes = hashes;
+        keys = new byte[oldKeys.length * 2][];
+        values = new String[oldKeys.length * 2];
+        hashes = new int[oldKeys.length * 2];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == null) {
+                continue;
+            }
+            int slot = oldHashes[i] & mask;
+            while (keys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+            hashes[slot] = oldHashes[i];
+        }
+    }
+
+    private static int hash(ByteBuffer buffer, int start, int end) {
+        int h = 0x811c9dc5;
+        for (int i = start; i < end; i++) {
+            h ^= buffer.get(i);
+            h *= 0x01000193;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean equals(byte[] key, ByteBuffer buffer, int start, int end) {
+        if (key.length != end - start) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (key[i] != buffer.get(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.movieApp.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Etiqueta cada petición en el MDC ({@code requestId}, {@code method},
+ * {@code path}) para que todos sus logs, incluidos los de debug de
+ * controladores y servicios, se puedan correlacionar, y escribe una línea de
+ * acceso muestreada por endpoint.
+ *
+ * La línea de acceso se escribe siempre para errores 5xx y peticiones lentas;
+ * el resto según la tasa de {@link RequestLoggingProperties}. El
+ * {@code requestId} se toma de la cabecera X-Request-Id si llega y se devuelve
+ * en la respuesta.
+ */
+@Component
+public class RequestLoggingFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestLoggingFilter.class);
+
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+
+    private final RequestLoggingProperties properties;
+
+    public RequestLoggingFilter(RequestLoggingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String requestId = request.getHeader(REQUEST_ID_HEADER);
+        if (requestId == null || requestId.isBlank() || requestId.length() > 64) {
+            requestId = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        }
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+        MDC.put("requestId", requestId);
+        MDC.put("method", request.getMethod());
+        MDC.put("path", request.getRequestURI());
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (!request.isAsyncStarted()) {
+                logAccess(request, response, (System.nanoTime() - start) / 1_000_000);
+            }
+            MDC.remove("requestId");
+            MDC.remove("method");
+            MDC.remove("path");
+        }
+    }
+
+    private void logAccess(HttpServletRequest request, HttpServletResponse response, long elapsedMs) {
+        if (!logger.isInfoEnabled()) {
+            return;
+        }
+        int status = response.getStatus();
+        String endpoint = endpoint(request);
+        if (status >= 500 || elapsedMs >= properties.getSlowRequestMs() || sampled(endpoint)) {
+            logger.info("{} -> {} en {} ms", endpoint, status, elapsedMs);
+        }
+    }
+
+    private boolean sampled(String endpoint) {
+        double rate = properties.getSampleRates().getOrDefault(endpoint, properties.getDefaultSampleRate());
+        return rate >= 1 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    /**
+     * "MÉTODO patrón" de la ruta que atendió la petición, para agrupar por endpoint y no por URL.
+     */
+    public static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+}
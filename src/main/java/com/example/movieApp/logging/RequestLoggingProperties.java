@@ -0,0 +1,32 @@
+package com.example.movieApp.logging;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuración del log de acceso ({@link RequestLoggingFilter}), bajo {@code movies.logging}.
+ */
+@Data
+@ConfigurationProperties(prefix = "movies.logging")
+public class RequestLoggingProperties {
+
+    /**
+     * Fracción de peticiones que se registran (0 a 1) para los endpoints sin
+     * una tasa propia.
+     */
+    private double defaultSampleRate = 0.01;
+
+    /**
+     * Tasa por endpoint, con la clave "MÉTODO patrón", por ejemplo
+     * {@code "GET /api/movies/{id}"}.
+     */
+    private Map<String, Double> sampleRates = new LinkedHashMap<>();
+
+    /**
+     * Las peticiones más lentas que esto se registran siempre.
+     */
+    private long slowRequestMs = 500;
+}
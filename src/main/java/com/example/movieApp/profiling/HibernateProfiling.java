@@ -0,0 +1,71 @@
+package com.example.movieApp.profiling;
+
+import org.hibernate.Interceptor;
+import org.hibernate.SessionEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+/**
+ * Ganchos de Hibernate para el perfilado: cuenta las sentencias preparadas
+ * ({@link StatementInspector}), mide el tiempo de ejecución JDBC
+ * ({@link SessionEventListener}) y cuenta las entidades cargadas
+ * ({@link Interceptor}). Sin una petición perfilada en el hilo no hacen nada.
+ *
+ * Solo se registran con {@code movies.profiling.enabled=true}
+ * ({@link com.example.movieApp.configuration.ProfilingConfig}). Hibernate crea
+ * una instancia del listener por sesión, de ahí el constructor sin argumentos.
+ */
+public class HibernateProfiling implements StatementInspector, SessionEventListener, Interceptor {
+
+    @Override
+    public String inspect(String sql) {
+        RequestProfile profile = RequestProfile.current();
+        if (profile != null) {
+            profile.statementPrepared();
+        }
+        return sql;
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        sqlStarted();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        sqlEnded();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        sqlStarted();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        sqlEnded();
+    }
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        RequestProfile profile = RequestProfile.current();
+        if (profile != null) {
+            profile.entityLoaded();
+        }
+        return false;
+    }
+
+    private static void sqlStarted() {
+        RequestProfile profile = RequestProfile.current();
+        if (profile != null) {
+            profile.sqlStarted();
+        }
+    }
+
+    private static void sqlEnded() {
+        RequestProfile profile = RequestProfile.current();
+        if (profile != null) {
+            profile.sqlEnded();
+        }
+    }
+}
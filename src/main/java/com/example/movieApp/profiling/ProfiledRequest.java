@@ -0,0 +1,40 @@
+package com.example.movieApp.profiling;
+
+/**
+ * Resultado del perfilado de una petición; los tiempos en milisegundos.
+ *
+ * @param endpoint        "MÉTODO patrón" de la ruta
+ * @param timestamp       fin de la petición, en milisegundos desde epoch
+ * @param dbMs            tiempo ejecutando sentencias JDBC
+ * @param appMs           controlador y servicio sin contar la base
+ * @param serializationMs escritura del cuerpo de la respuesta
+ * @param otherMs         filtros, interceptores, afterCompletion y log de acceso
+ * @param statements      sentencias SQL preparadas
+ * @param entitiesLoaded  entidades cargadas por Hibernate
+ * @param allocatedBytes  bytes reservados en el heap por el hilo de la petición
+ */
+public record ProfiledRequest(String endpoint,
+                              int status,
+                              String requestId,
+                              long timestamp,
+                              double totalMs,
+                              double dbMs,
+                              double appMs,
+                              double serializationMs,
+                              double otherMs,
+                              int statements,
+                              int entitiesLoaded,
+                              long allocatedBytes) {
+
+    /**
+     * Valor de la cabecera Server-Timing.
+     */
+    String serverTiming() {
+        return "total;dur=" + totalMs
+                + ", db;dur=" + dbMs + ";desc=\"" + statements + " sentencias SQL\""
+                + ", app;dur=" + appMs + ";desc=\"" + entitiesLoaded + " entidades\""
+                + ", serialization;dur=" + serializationMs
+                + ", other;dur=" + otherMs
+                + ", alloc;desc=\"" + allocatedBytes + " bytes\"";
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.movieApp.profiling;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/profiling}: GET lista las peticiones perfiladas más lentas
+ * y DELETE las borra. Por defecto el endpoint es de solo lectura
+ * ({@code management.endpoint.profiling.access=read-only}), así que DELETE no se publica.
+ */
+@Component
+@Endpoint(id = "profiling")
+public class ProfilingEndpoint {
+
+    private final SlowestRequests slowestRequests;
+
+    public ProfilingEndpoint(SlowestRequests slowestRequests) {
+        this.slowestRequests = slowestRequests;
+    }
+
+    @ReadOperation
+    public List<ProfiledRequest> slowest() {
+        return slowestRequests.slowest();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        slowestRequests.clear();
+    }
+}
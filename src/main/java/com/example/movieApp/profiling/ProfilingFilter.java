@@ -0,0 +1,136 @@
+package com.example.movieApp.profiling;
+
+import com.example.movieApp.logging.RequestLoggingFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Perfilado opcional por petición ({@code movies.profiling.enabled=true}).
+ * Se perfila una petición si trae la cabecera {@code movies.profiling.header}
+ * con el valor de {@code movies.profiling.token} o si sale en el muestreo de
+ * {@code movies.profiling.sample-rate}. Sin token configurado la cabecera se
+ * ignora: perfilar cuesta memoria y CPU, y no debe poder pedirlo cualquier cliente.
+ *
+ * Para una petición perfilada mide sentencias SQL y su tiempo, entidades
+ * cargadas, bytes reservados por el hilo ({@link ThreadMXBean}) y el tiempo
+ * por capa ({@link RequestProfile#finish}), y los devuelve en la cabecera
+ * Server-Timing. Como el cuerpo se escribe antes de saber el total, la
+ * respuesta se guarda en memoria ({@link ContentCachingResponseWrapper}) y
+ * se copia al final; por eso la serialización medida no incluye la red.
+ * Las más lentas quedan en {@link SlowestRequests}.
+ *
+ * Es el primer filtro de la cadena para que el total incluya a los demás. En
+ * peticiones asíncronas (long-poll del feed de cambios) la medición sigue en
+ * el dispatch asíncrono y el total incluye la espera.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ProfilingFilter extends OncePerRequestFilter {
+
+    static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private static final String PROFILE_ATTRIBUTE = ProfilingFilter.class.getName() + ".profile";
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final ProfilingProperties properties;
+    private final SlowestRequests slowestRequests;
+
+    public ProfilingFilter(ProfilingProperties properties, SlowestRequests slowestRequests) {
+        this.properties = properties;
+        this.slowestRequests = slowestRequests;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestProfile profile = (RequestProfile) request.getAttribute(PROFILE_ATTRIBUTE);
+        if (profile == null) {
+            if (isAsyncDispatch(request) || !shouldProfile(request)) {
+                chain.doFilter(request, response);
+                return;
+            }
+            profile = new RequestProfile();
+            request.setAttribute(PROFILE_ATTRIBUTE, profile);
+        }
+        // En el dispatch asíncrono la respuesta ya es la envuelta en el primero.
+        ContentCachingResponseWrapper wrapper = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        if (wrapper == null) {
+            wrapper = new ContentCachingResponseWrapper(response);
+        }
+
+        RequestProfile.attach(profile);
+        long allocatedBefore = allocatedBytes();
+        try {
+            chain.doFilter(request, wrapper);
+        } finally {
+            profile.addAllocatedBytes(allocatedBytes() - allocatedBefore);
+            RequestProfile.detach();
+            if (!request.isAsyncStarted()) {
+                complete(request, wrapper, profile);
+            }
+        }
+    }
+
+    private void complete(HttpServletRequest request, ContentCachingResponseWrapper response, RequestProfile profile)
+            throws IOException {
+        ProfiledRequest result = profile.finish(RequestLoggingFilter.endpoint(request), response.getStatus(),
+                response.getHeader(RequestLoggingFilter.REQUEST_ID_HEADER), System.nanoTime());
+        response.setHeader(SERVER_TIMING_HEADER, result.serverTiming());
+        slowestRequests.record(result);
+        response.copyBodyToResponse();
+    }
+
+    private boolean shouldProfile(HttpServletRequest request) {
+        String header = request.getHeader(properties.getHeader());
+        if (header != null && hasToken(header)) {
+            return true;
+        }
+        double rate = properties.getSampleRate();
+        return rate >= 1 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    /**
+     * Comparación en tiempo constante, para no dar pistas del token por el tiempo de respuesta.
+     */
+    private boolean hasToken(String header) {
+        String token = properties.getToken();
+        return token != null && !token.isEmpty() && MessageDigest.isEqual(
+                header.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Bytes reservados hasta ahora por el hilo actual, o 0 si la JVM no lo mide.
+     */
+    private static long allocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean threads && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads.getCurrentThreadAllocatedBytes();
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.movieApp.profiling;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Marca el inicio del controlador y el fin de la escritura del cuerpo en las
+ * peticiones perfiladas. Con {@code @ResponseBody} el conversor escribe dentro
+ * del propio manejador, así que en postHandle ya ha terminado; si el
+ * controlador falla, el cuerpo de error está escrito al llegar a
+ * afterCompletion. Se registra después del resto de interceptores: su
+ * preHandle es el último y su postHandle y afterCompletion los primeros, así
+ * que los demás cuentan como "other".
+ */
+@Component
+public class ProfilingInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestProfile profile = RequestProfile.current();
+        if (profile != null) {
+            profile.handlerStarted();
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        serializationEnded();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        serializationEnded();
+    }
+
+    private static void serializationEnded() {
+        RequestProfile profile = RequestProfile.current();
+        if (profile != null) {
+            profile.serializationEnded();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.movieApp.profiling;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuración del perfilado por petición ({@link ProfilingFilter}), bajo {@code movies.profiling}.
+ */
+@Data
+@ConfigurationProperties(prefix = "movies.profiling")
+public class ProfilingProperties {
+
+    /**
+     * Activa el perfilado. Desactivado no se registra nada en Hibernate ni se
+     * envuelve ninguna respuesta.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Cabecera con la que un cliente pide perfilar su petición; su valor debe ser {@link #token}.
+     */
+    private String header = "X-Profile";
+
+    /**
+     * Valor que debe traer la cabecera para perfilar la petición. Vacío, la
+     * cabecera se ignora y solo se perfila por muestreo.
+     */
+    private String token = "";
+
+    /**
+     * Fracción de peticiones que se perfilan sin la cabecera (0 a 1).
+     */
+    private double sampleRate = 0;
+
+    /**
+     * Cuántas de las peticiones perfiladas más lentas se conservan para el endpoint de actuator.
+     */
+    private int slowestSize = 20;
+}
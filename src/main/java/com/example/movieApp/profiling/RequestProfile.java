@@ -0,0 +1,112 @@
+package com.example.movieApp.profiling;
+
+/**
+ * Mediciones de una petición perfilada. El {@link ProfilingFilter} la asocia
+ * al hilo que atiende la petición y los ganchos de Hibernate
+ * ({@link HibernateProfiling}), el interceptor y el advice de respuesta la
+ * encuentran con {@link #current()}; en hilos sin petición perfilada es null
+ * y no se mide nada.
+ *
+ * Solo la modifica el hilo que atiende la petición en cada momento (en una
+ * petición asíncrona, el de cada dispatch), así que no necesita sincronización.
+ */
+public final class RequestProfile {
+
+    private static final ThreadLocal<RequestProfile> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private long handlerStartNanos;
+    private long serializationStartNanos;
+    private long serializationEndNanos;
+
+    private int statements;
+    private long sqlNanos;
+    private long sqlStartNanos;
+    private int entitiesLoaded;
+    private long allocatedBytes;
+
+    /**
+     * @return el perfil de la petición que atiende este hilo, o null
+     */
+    public static RequestProfile current() {
+        return CURRENT.get();
+    }
+
+    static void attach(RequestProfile profile) {
+        CURRENT.set(profile);
+    }
+
+    static void detach() {
+        CURRENT.remove();
+    }
+
+    void handlerStarted() {
+        if (handlerStartNanos == 0) {
+            handlerStartNanos = System.nanoTime();
+        }
+    }
+
+    void serializationStarted() {
+        serializationStartNanos = System.nanoTime();
+        serializationEndNanos = 0;
+    }
+
+    /**
+     * Solo cuenta la primera vez tras empezar la escritura: el interceptor lo
+     * marca en postHandle y, si el controlador falló, en afterCompletion.
+     */
+    void serializationEnded() {
+        if (serializationStartNanos != 0 && serializationEndNanos == 0) {
+            serializationEndNanos = System.nanoTime();
+        }
+    }
+
+    void statementPrepared() {
+        statements++;
+    }
+
+    void sqlStarted() {
+        sqlStartNanos = System.nanoTime();
+    }
+
+    void sqlEnded() {
+        if (sqlStartNanos != 0) {
+            sqlNanos += System.nanoTime() - sqlStartNanos;
+            sqlStartNanos = 0;
+        }
+    }
+
+    void entityLoaded() {
+        entitiesLoaded++;
+    }
+
+    void addAllocatedBytes(long bytes) {
+        allocatedBytes += bytes;
+    }
+
+    /**
+     * Reparte el tiempo total entre capas: {@code db} es el tiempo en JDBC,
+     * {@code app} el resto del controlador y el servicio (incluido el mapeo a
+     * DTO), {@code serialization} desde que se empieza a escribir el cuerpo
+     * hasta que el conversor termina (o hasta el final si no se llegó a marcar)
+     * y {@code other} lo que queda (filtros, interceptores, afterCompletion y log
+     * de acceso).
+     *
+     * @param endNanos fin de la petición
+     */
+    ProfiledRequest finish(String endpoint, int status, String requestId, long endNanos) {
+        long total = endNanos - startNanos;
+        long serializationEnd = serializationEndNanos == 0 ? endNanos : serializationEndNanos;
+        long serialization = serializationStartNanos == 0 ? 0 : serializationEnd - serializationStartNanos;
+        long handler = handlerStartNanos == 0 ? 0
+                : (serializationStartNanos == 0 ? endNanos : serializationStartNanos) - handlerStartNanos;
+        long other = Math.max(0, total - handler - serialization);
+        return new ProfiledRequest(endpoint, status, requestId, System.currentTimeMillis(),
+                millis(total), millis(sqlNanos), millis(Math.max(0, handler - sqlNanos)),
+                millis(serialization), millis(other), statements, entitiesLoaded, allocatedBytes);
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
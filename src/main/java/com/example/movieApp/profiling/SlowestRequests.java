@@ -0,0 +1,48 @@
+package com.example.movieApp.profiling;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Las {@code movies.profiling.slowest-size} peticiones perfiladas más lentas
+ * desde el arranque (o desde el último borrado), en un heap acotado cuya
+ * cabeza es la más rápida de las guardadas.
+ */
+@Component
+public class SlowestRequests {
+
+    private static final Comparator<ProfiledRequest> BY_TOTAL = Comparator.comparingDouble(ProfiledRequest::totalMs);
+
+    private final int capacity;
+    private final PriorityQueue<ProfiledRequest> slowest = new PriorityQueue<>(BY_TOTAL);
+
+    public SlowestRequests(ProfilingProperties properties) {
+        this.capacity = properties.getSlowestSize();
+    }
+
+    public synchronized void record(ProfiledRequest request) {
+        if (slowest.size() < capacity) {
+            slowest.add(request);
+        } else if (capacity > 0 && BY_TOTAL.compare(request, slowest.peek()) > 0) {
+            slowest.poll();
+            slowest.add(request);
+        }
+    }
+
+    /**
+     * @return las peticiones guardadas de más a menos lenta
+     */
+    public synchronized List<ProfiledRequest> slowest() {
+        List<ProfiledRequest> requests = new ArrayList<>(slowest);
+        requests.sort(BY_TOTAL.reversed());
+        return requests;
+    }
+
+    public synchronized void clear() {
+        slowest.clear();
+    }
+}
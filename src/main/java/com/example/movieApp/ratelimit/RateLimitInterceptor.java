@@ -0,0 +1,64 @@
+package com.example.movieApp.ratelimit;
+
+import com.example.movieApp.exception.listexception.TooManyRequestsException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Set;
+
+/**
+ * Aplica {@link RateLimiter} a cada petición de la API. El cliente se
+ * identifica por la cabecera de API key ({@code movies.rate-limit.api-key-header})
+ * solo si la clave está entre las configuradas en {@code movies.rate-limit.api-keys};
+ * con cualquier otra clave, o sin ella, se identifica por su IP. Así no basta
+ * con inventar una clave nueva en cada petición para tener un bucket lleno.
+ *
+ * Detrás de un proxy la IP es la del cliente si el proxy está entre los de
+ * confianza de {@code server.forward-headers-strategy=native} (por defecto las
+ * redes privadas); si no, todos los clientes compartirían la IP del proxy.
+ *
+ * Todas las respuestas llevan las cabeceras RateLimit-Limit, RateLimit-Remaining
+ * y RateLimit-Reset; al superar el límite se responde 429 con Retry-After a
+ * través de {@code ApiExceptionHandler}.
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RateLimiter rateLimiter;
+    private final String apiKeyHeader;
+    private final Set<String> apiKeys;
+    private final String limitHeader;
+
+    public RateLimitInterceptor(RateLimiter rateLimiter,
+                                @Value("${movies.rate-limit.api-key-header:X-API-Key}") String apiKeyHeader,
+                                @Value("${movies.rate-limit.api-keys:}") Set<String> apiKeys) {
+        this.rateLimiter = rateLimiter;
+        this.apiKeyHeader = apiKeyHeader;
+        this.apiKeys = Set.copyOf(apiKeys);
+        this.limitHeader = String.valueOf(rateLimiter.getBurst());
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!rateLimiter.isEnabled()) {
+            return true;
+        }
+        RateLimiter.Decision decision = rateLimiter.acquire(clientKey(request));
+        response.setHeader("RateLimit-Limit", limitHeader);
+        response.setHeader("RateLimit-Remaining", String.valueOf(decision.remaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(decision.resetSeconds()));
+        if (!decision.allowed()) {
+            throw new TooManyRequestsException("Límite de peticiones superado, reintente más tarde",
+                    decision.retryAfterSeconds());
+        }
+        return true;
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(apiKeyHeader);
+        return apiKey != null && apiKeys.contains(apiKey) ? "key:" + apiKey : "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.movieApp.ratelimit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Limitador de peticiones por cliente con GCRA (Generic Cell Rate Algorithm),
+ * equivalente a un token bucket de {@code burst} fichas que se recarga a
+ * {@code requests-per-second}.
+ *
+ * El estado de cada cliente es un único {@link AtomicLong} con el instante
+ * teórico de la próxima llegada (TAT), que se actualiza con CAS: no hay
+ * locks ni hilos de recarga, y una comprobación es una búsqueda en el mapa
+ * más un compare-and-set.
+ *
+ * El mapa de clientes está acotado por {@code max-clients}. Una tarea
+ * periódica elimina los clientes con el bucket ya lleno, que equivalen a uno
+ * nuevo; mientras el mapa está lleno, los clientes nuevos comparten un bucket
+ * común en lugar de recorrer el mapa en el hilo de la petición.
+ */
+@Component
+public class RateLimiter {
+
+    private final boolean enabled;
+    private final int burst;
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final int maxClients;
+    private final LongSupplier clock;
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong overflow = new AtomicLong(Long.MIN_VALUE);
+
+    @Autowired
+    public RateLimiter(@Value("${movies.rate-limit.enabled:true}") boolean enabled,
+                       @Value("${movies.rate-limit.requests-per-second:50}") double requestsPerSecond,
+                       @Value("${movies.rate-limit.burst:100}") int burst,
+                       @Value("${movies.rate-limit.max-clients:100000}") int maxClients) {
+        this(enabled, requestsPerSecond, burst, maxClients, System::nanoTime);
+    }
+
+    RateLimiter(boolean enabled, double requestsPerSecond, int burst, int maxClients, LongSupplier clock) {
+        this.enabled = enabled;
+        this.burst = burst;
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+        this.burstNanos = emissionIntervalNanos * burst;
+        this.maxClients = maxClients;
+        this.clock = clock;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    /**
+     * Consume una ficha del cliente.
+     *
+     * @param client clave del cliente (API key o IP)
+     * @return resultado con las fichas restantes y los tiempos de espera
+     */
+    public Decision acquire(String client) {
+        AtomicLong bucket = bucket(client);
+        long now = clock.getAsLong();
+        while (true) {
+            long tat = bucket.get();
+            long newTat = Math.max(tat == Long.MIN_VALUE ? now : tat, now) + emissionIntervalNanos;
+            long backlog = newTat - now;
+            if (backlog > burstNanos) {
+                // Sin fichas: el estado no cambia y se indica cuándo habrá una.
+                return new Decision(false, 0, backlog - burstNanos, backlog - emissionIntervalNanos);
+            }
+            if (bucket.compareAndSet(tat, newTat)) {
+                int remaining = (int) ((burstNanos - backlog) / emissionIntervalNanos);
+                return new Decision(true, remaining, 0, backlog);
+            }
+        }
+    }
+
+    int clientCount() {
+        return buckets.size();
+    }
+
+    private AtomicLong bucket(String client) {
+        AtomicLong bucket = buckets.get(client);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxClients) {
+            return overflow;
+        }
+        return buckets.computeIfAbsent(client, key -> new AtomicLong(Long.MIN_VALUE));
+    }
+
+    /**
+     * Elimina los clientes cuyo bucket ya se recargó por completo. Recorre todo
+     * el mapa, así que se ejecuta en segundo plano y no al llegar un cliente.
+     */
+    @Scheduled(fixedDelayString = "${movies.rate-limit.eviction-interval-ms:1000}")
+    public void evictIdle() {
+        long now = clock.getAsLong();
+        buckets.values().removeIf(bucket -> bucket.get() <= now);
+    }
+
+    /**
+     * @param allowed          si la petición puede continuar
+     * @param remaining        fichas que quedan después de esta petición
+     * @param retryAfterNanos  espera hasta la próxima ficha si se rechazó
+     * @param resetNanos       espera hasta que el bucket vuelva a estar lleno
+     */
+    public record Decision(boolean allowed, int remaining, long retryAfterNanos, long resetNanos) {
+
+        public long retryAfterSeconds() {
+            return ceilSeconds(retryAfterNanos);
+        }
+
+        public long resetSeconds() {
+            return ceilSeconds(resetNanos);
+        }
+
+        private static long ceilSeconds(long nanos) {
+            return Math.max(0, (nanos + 999_999_999L) / 1_000_000_000L);
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package com.example.movieApp.replica;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Catálogo de películas en formato columnar: un array primitivo por campo y
+ * los títulos empaquetados en UTF-8 en un único {@link ByteBuffer}, que puede
+ * estar fuera del heap.
+ *
+ * Cada película ocupa una posición ("slot") en todas las columnas. Además se
+ * mantienen un índice id → slot y la lista de slots ordenada por título, de modo
+ * que la búsqueda por ID es O(1) y el listado ordenado es un recorrido secuencial.
+ * Las escrituras son O(n) por el desplazamiento del índice ordenado, algo
+ * aceptable para una carga mayoritariamente de lectura.
+ *
+ * El orden por título compara bytes UTF-8 sin signo (orden de code points), que
+ * coincide con el de la base salvo en caracteres fuera del plano básico.
+ *
+ * No es thread-safe; {@link MovieCatalogReplica} se encarga del bloqueo.
+ */
+final class ColumnarMovieCatalog {
+
+    /** Valor usado en las columnas numéricas para representar null. */
+    static final int NULL = Integer.MIN_VALUE;
+
+    private static final int MIN_COMPACT_GARBAGE = 64 * 1024;
+
+    private final boolean offHeap;
+
+    private int size;
+    private int[] ids = new int[64];
+    private int[] scores = new int[64];
+    private int[] years = new int[64];
+    private int[] genres = new int[64];
+    private int[] studios = new int[64];
+    private int[] titleOffsets = new int[64];
+    private int[] titleLengths = new int[64];
+
+    /** Slots ordenados por título ascendente. */
+    private int[] order = new int[64];
+
+    /** slotsById[id] = slot + 1; 0 si el ID no está en el catálogo. */
+    private int[] slotsById = new int[64];
+
+    private ByteBuffer titles;
+    private int titlesEnd;
+    private int titleGarbage;
+
+    ColumnarMovieCatalog(boolean offHeap) {
+        this.offHeap = offHeap;
+        this.titles = allocate(4096);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return slot de la película o -1 si no existe
+     */
+    int slotOf(int id) {
+        return id >= 0 && id < slotsById.length ? slotsById[id] - 1 : -1;
+    }
+
+    /**
+     * @param rank       posición en el listado (0 = primero)
+     * @param descending si el listado es en orden descendente
+     * @return slot de la película en esa posición
+     */
+    int slotAt(int rank, boolean descending) {
+        return order[descending ? size - 1 - rank : rank];
+    }
+
+    int id(int slot) {
+        return ids[slot];
+    }
+
+    int genre(int slot) {
+        return genres[slot];
+    }
+
+    int studio(int slot) {
+        return studios[slot];
+    }
+
+    Integer score(int slot) {
+        return boxed(scores[slot]);
+    }
+
+    Integer year(int slot) {
+        return boxed(years[slot]);
+    }
+
+    String film(int slot) {
+        if (titleLengths[slot] < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[titleLengths[slot]];
+        titles.get(titleOffsets[slot], bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Inserta o actualiza una película.
+     */
+    void upsert(int id, String film, int genre, int studio, Integer score, Integer year) {
+        byte[] title = film == null ? null : film.getBytes(StandardCharsets.UTF_8);
+        int slot = slotOf(id);
+        if (slot < 0) {
+            slot = size++;
+            ensureCapacity(size);
+            ensureIdCapacity(id);
+            ids[slot] = id;
+            slotsById[id] = slot + 1;
+            writeTitle(slot, title);
+            insertOrder(slot);
+        } else if (!titleEquals(slot, title)) {
+            removeOrder(slot);
+            releaseTitle(slot);
+            writeTitle(slot, title);
+            insertOrder(slot);
+            compactTitlesIfNeeded();
+        }
+        genres[slot] = genre;
+        studios[slot] = studio;
+        scores[slot] = score == null ? NULL : score;
+        years[slot] = year == null ? NULL : year;
+    }
+
+    /**
+     * Elimina una película; el último slot pasa a ocupar su lugar.
+     *
+     * @return false si el ID no estaba en el catálogo
+     */
+    boolean remove(int id) {
+        int slot = slotOf(id);
+        if (slot < 0) {
+            return false;
+        }
+        removeOrder(slot);
+        releaseTitle(slot);
+        slotsById[id] = 0;
+
+        int last = size - 1;
+        if (slot != last) {
+            order[orderPosition(last, size - 1)] = slot;
+            ids[slot] = ids[last];
+            scores[slot] = scores[last];
+            years[slot] = years[last];
+            genres[slot] = genres[last];
+            studios[slot] = studios[last];
+            titleOffsets[slot] = titleOffsets[last];
+            titleLengths[slot] = titleLengths[last];
+            slotsById[ids[slot]] = slot + 1;
+        }
+        size--;
+        compactTitlesIfNeeded();
+        return true;
+    }
+
+    /**
+     * Tamaño aproximado del catálogo en memoria, incluido el buffer de títulos.
+     */
+    long estimatedBytes() {
+        long columns = 8L * ids.length * Integer.BYTES;
+        return columns + (long) slotsById.length * Integer.BYTES + titles.capacity();
+    }
+
+    private void writeTitle(int slot, byte[] title) {
+        if (title == null) {
+            titleOffsets[slot] = 0;
+            titleLengths[slot] = -1;
+            return;
+        }
+        if (titlesEnd + title.length > titles.capacity()) {
+            growTitles(titlesEnd + title.length);
+        }
+        titles.put(titlesEnd, title);
+        titleOffsets[slot] = titlesEnd;
+        titleLengths[slot] = title.length;
+        titlesEnd += title.length;
+    }
+
+    private void releaseTitle(int slot) {
+        titleGarbage += Math.max(titleLengths[slot], 0);
+    }
+
+    private void growTitles(int required) {
+        ByteBuffer bigger = allocate(Math.max(required, titles.capacity() * 2));
+        bigger.put(0, titles, 0, titlesEnd);
+        titles = bigger;
+    }
+
+    /**
+     * Reescribe el buffer de títulos sin los huecos que dejan las
+     * actualizaciones y eliminaciones cuando superan la mitad del buffer.
+     */
+    private void compactTitlesIfNeeded() {
+        if (titleGarbage < MIN_COMPACT_GARBAGE || titleGarbage * 2 < titlesEnd) {
+            return;
+        }
+        int live = titlesEnd - titleGarbage;
+        ByteBuffer compacted = allocate(Math.max(4096, live + live / 2));
+        int end = 0;
+        for (int slot = 0; slot < size; slot++) {
+            int length = titleLengths[slot];
+            if (length <= 0) {
+                continue;
+            }
+            compacted.put(end, titles, titleOffsets[slot], length);
+            titleOffsets[slot] = end;
+            end += length;
+        }
+        titles = compacted;
+        titlesEnd = end;
+        titleGarbage = 0;
+    }
+
+    private ByteBuffer allocate(int capacity) {
+        return offHeap ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(required, ids.length * 2);
+        ids = Arrays.copyOf(ids, capacity);
+        scores = Arrays.copyOf(scores, capacity);
+        years = Arrays.copyOf(years, capacity);
+        genres = Arrays.copyOf(genres, capacity);
+        studios = Arrays.copyOf(studios, capacity);
+        titleOffsets = Arrays.copyOf(titleOffsets, capacity);
+        titleLengths = Arrays.copyOf(titleLengths, capacity);
+        order = Arrays.copyOf(order, capacity);
+    }
+
+    private void ensureIdCapacity(int id) {
+        if (id >= slotsById.length) {
+            slotsById = Arrays.copyOf(slotsById, Math.max(id + 1, slotsById.length * 2));
+        }
+    }
+
+    /**
+     * Inserta el slot en el índice ordenado, después de los títulos iguales.
+     * Se espera que el slot ya esté contado en {@code size}.
+     */
+    private void insertOrder(int slot) {
+        int count = size - 1;
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareTitles(order[mid], slot) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        System.arraycopy(order, low, order, low + 1, count - low);
+        order[low] = slot;
+    }
+
+    /**
+     * Quita el slot del índice ordenado; las primeras {@code size - 1}
+     * posiciones quedan ordenadas sin él.
+     */
+    private void removeOrder(int slot) {
+        int position = orderPosition(slot, size);
+        System.arraycopy(order, position + 1, order, position, size - position - 1);
+    }
+
+    /**
+     * Posición del slot entre las primeras {@code count} entradas del índice
+     * ordenado: búsqueda binaria del primer título igual y recorrido de los empates.
+     */
+    private int orderPosition(int slot, int count) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareTitles(order[mid], slot) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        for (int i = low; i < count; i++) {
+            if (order[i] == slot) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Slot " + slot + " no encontrado en el índice ordenado");
+    }
+
+    private int compareTitles(int slotA, int slotB) {
+        int lengthA = titleLengths[slotA];
+        int lengthB = titleLengths[slotB];
+        if (lengthA < 0 || lengthB < 0) {
+            return Integer.compare(lengthA, lengthB);
+        }
+        int offsetA = titleOffsets[slotA];
+        int offsetB = titleOffsets[slotB];
+        int length = Math.min(lengthA, lengthB);
+        for (int i = 0; i < length; i++) {
+            int a = titles.get(offsetA + i) & 0xff;
+            int b = titles.get(offsetB + i) & 0xff;
+            if (a != b) {
+                return a - b;
+            }
+        }
+        return lengthA - lengthB;
+    }
+
+    private boolean titleEquals(int slot, byte[] title) {
+        if (title == null || titleLengths[slot] < 0) {
+            return title == null && titleLengths[slot] < 0;
+        }
+        if (titleLengths[slot] != title.length) {
+            return false;
+        }
+        int offset = titleOffsets[slot];
+        for (int i = 0; i < title.length; i++) {
+            if (titles.get(offset + i) != title[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Integer boxed(int value) {
+        return value == NULL ? null : value;
+    }
+}
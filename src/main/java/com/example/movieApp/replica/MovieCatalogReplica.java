@@ -0,0 +1,191 @@
+package com.example.movieApp.replica;
+
+import com.example.movieApp.dictionary.MovieDictionaries;
+import com.example.movieApp.dto.response.MovieResponse;
+import com.example.movieApp.entity.Movie;
+import com.example.movieApp.event.MovieChangedEvent;
+import com.example.movieApp.repository.MovieRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Réplica de lectura del catálogo completo en memoria, en formato columnar
+ * ({@link ColumnarMovieCatalog}). Es opcional y se activa con
+ * {@code movies.replica.enabled=true}.
+ *
+ * Se construye al arrancar la aplicación (después de la carga del CSV) y se
+ * mantiene con los {@link MovieChangedEvent} que publica el servicio tras cada
+ * commit. Mientras no está lista, {@link #isReady()} devuelve false y las
+ * lecturas van a la base de datos.
+ *
+ * Género y estudio se guardan como códigos de {@link MovieDictionaries}, y los
+ * títulos en un buffer UTF-8 que por defecto está fuera del heap
+ * ({@code movies.replica.off-heap}).
+ */
+@Component
+public class MovieCatalogReplica {
+
+    private static final Logger logger = LoggerFactory.getLogger(MovieCatalogReplica.class);
+
+    private final MovieRepository movieRepository;
+    private final MovieDictionaries dictionaries;
+    private final boolean enabled;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ColumnarMovieCatalog catalog;
+
+    /** Se pone a true con el lock de escritura al empezar la carga inicial. */
+    private boolean started;
+    private volatile boolean ready;
+
+    public MovieCatalogReplica(MovieRepository movieRepository,
+                               MovieDictionaries dictionaries,
+                               @Value("${movies.replica.enabled:false}") boolean enabled,
+                               @Value("${movies.replica.off-heap:true}") boolean offHeap) {
+        this.movieRepository = movieRepository;
+        this.dictionaries = dictionaries;
+        this.enabled = enabled;
+        this.catalog = new ColumnarMovieCatalog(offHeap);
+    }
+
+    /**
+     * Carga inicial de la réplica. Los eventos que lleguen mientras tanto
+     * esperan al lock de escritura y se aplican después, así que no se pierde
+     * ningún cambio confirmado durante la carga.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            started = true;
+            for (Movie movie : movieRepository.findAll()) {
+                apply(movie.getId(), movie.getFilm(), movie.getGenre(), movie.getStudio(),
+                        movie.getScore(), movie.getReleaseYear());
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Réplica columnar cargada: {} películas, ~{} bytes ({} bytes/película) en {} ms",
+                catalog.size(), catalog.estimatedBytes(),
+                catalog.size() == 0 ? 0 : catalog.estimatedBytes() / catalog.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Aplica un cambio confirmado. Si la transacción no llega a confirmarse el
+     * evento no se recibe.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieChanged(MovieChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!started) {
+                // La carga inicial todavía no empezó y ya verá este cambio en la base.
+                return;
+            }
+            if (event.getType() == MovieChangedEvent.ChangeType.DELETED) {
+                catalog.remove(event.getMovieId());
+            } else {
+                MovieResponse movie = event.getMovie();
+                apply(movie.getId(), movie.getFilm(), movie.getGenre(), movie.getStudio(),
+                        movie.getScore(), movie.getYear());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return true si la réplica está activada y cargada
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @return la película o null si no existe
+     */
+    public MovieResponse findById(int id) {
+        lock.readLock().lock();
+        try {
+            int slot = catalog.slotOf(id);
+            return slot < 0 ? null : toResponse(slot);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Listado ordenado por título, equivalente a
+     * {@link com.example.movieApp.service.MovieServiceImpl#getMoviesOrdered}.
+     *
+     * @param limit      número máximo de películas
+     * @param descending orden descendente
+     */
+    public List<MovieResponse> findOrdered(int limit, boolean descending) {
+        lock.readLock().lock();
+        try {
+            int count = Math.min(limit, catalog.size());
+            List<MovieResponse> movies = new ArrayList<>(count);
+            for (int rank = 0; rank < count; rank++) {
+                movies.add(toResponse(catalog.slotAt(rank, descending)));
+            }
+            return movies;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return catalog.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            return catalog.estimatedBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(int id, String film, String genre, String studio, Integer score, Integer year) {
+        int genreCode = genre == null ? ColumnarMovieCatalog.NULL : dictionaries.genres().encode(genre);
+        int studioCode = studio == null ? ColumnarMovieCatalog.NULL : dictionaries.studios().encode(studio);
+        catalog.upsert(id, film, genreCode, studioCode, score, year);
+    }
+
+    private MovieResponse toResponse(int slot) {
+        int genre = catalog.genre(slot);
+        int studio = catalog.studio(slot);
+        return new MovieResponse(
+                catalog.id(slot),
+                catalog.film(slot),
+                genre == ColumnarMovieCatalog.NULL ? null : dictionaries.genres().decode(genre),
+                studio == ColumnarMovieCatalog.NULL ? null : dictionaries.studios().decode(studio),
+                catalog.score(slot),
+                catalog.year(slot));
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.movieApp.repository;
+
+import com.example.movieApp.entity.MovieChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Las lecturas del outbox no son de solo lectura a propósito: con réplicas de
+ * lectura ({@code movies.datasource.routing}) van siempre al primario, porque
+ * el feed de cambios y el canal del clúster consultan justo después de un
+ * commit y una réplica atrasada les haría esperar sin motivo.
+ */
+@Repository
+@Transactional
+public interface MovieChangeRepository extends JpaRepository<MovieChange, Long> {
+
+    List<MovieChange> findBySeqGreaterThanOrderBySeqAsc(long seq, Pageable pageable);
+
+    @Query("SELECT MAX(c.seq) FROM MovieChange c")
+    Long findMaxSeq();
+
+    @Override
+    List<MovieChange> findAllById(Iterable<Long> ids);
+}
@@ -0,0 +1,52 @@
+package com.example.movieApp.routing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuración del enrutado lectura/escritura
+ * ({@link ReadWriteRoutingDataSource}), bajo {@code movies.datasource.routing}.
+ * El primario es el {@code spring.datasource.*} de siempre.
+ */
+@Data
+@ConfigurationProperties(prefix = "movies.datasource.routing")
+public class ReadReplicaProperties {
+
+    /**
+     * Envía las transacciones de solo lectura a las réplicas.
+     */
+    private boolean enabled;
+
+    /**
+     * Cómo se reparte la lectura entre las réplicas al día.
+     */
+    private ReplicaSelection selection = ReplicaSelection.ROUND_ROBIN;
+
+    /**
+     * Una réplica que no tiene los cambios confirmados en el primario hace más
+     * de este tiempo deja de recibir lecturas hasta que se ponga al día.
+     */
+    private long maxLagMs = 1000;
+
+    /**
+     * Cada cuánto se compara la posición del outbox de cada réplica con la del primario.
+     */
+    private long lagCheckIntervalMs = 200;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Data
+    public static class Replica {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private int maximumPoolSize = 10;
+    }
+}
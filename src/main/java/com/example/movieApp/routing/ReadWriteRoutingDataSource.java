@@ -0,0 +1,139 @@
+package com.example.movieApp.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource que envía las transacciones de solo lectura
+ * ({@code @Transactional(readOnly = true)}, como las lecturas de los
+ * repositorios de Spring Data) a una réplica y todo lo demás al primario.
+ *
+ * La decisión se toma al pedir la conexión física, por lo que tiene que ir
+ * envuelto en un {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * así la conexión se obtiene en la primera sentencia, cuando la transacción
+ * ya está marcada como de solo lectura.
+ *
+ * Solo se eligen réplicas al día según {@link ReplicaLagMonitor}; si no hay
+ * ninguna, la lectura va al primario.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    private final List<Replica> replicas;
+    private final ReplicaSelection selection;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(HikariDataSource primary, List<Replica> replicas, ReplicaSelection selection) {
+        this.replicas = List.copyOf(replicas);
+        this.selection = selection;
+        Map<Object, Object> targets = new HashMap<>();
+        for (Replica replica : replicas) {
+            targets.put(replica.name(), replica.dataSource());
+        }
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        Replica replica = selectReplica();
+        return replica == null ? PRIMARY : replica.name();
+    }
+
+    /**
+     * @return réplica para la siguiente lectura, o null si ninguna está al día
+     */
+    Replica selectReplica() {
+        return selection == ReplicaSelection.LEAST_LOADED ? leastLoaded() : roundRobin();
+    }
+
+    private Replica roundRobin() {
+        int start = next.getAndIncrement() & Integer.MAX_VALUE;
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.isInSync()) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private Replica leastLoaded() {
+        Replica best = null;
+        int bestLoad = Integer.MAX_VALUE;
+        for (Replica replica : replicas) {
+            if (replica.isInSync()) {
+                int load = replica.load();
+                if (load < bestLoad) {
+                    best = replica;
+                    bestLoad = load;
+                }
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            replica.dataSource().close();
+        }
+    }
+
+    /**
+     * Una réplica con su pool y su estado de retraso.
+     */
+    public static final class Replica {
+
+        private final String name;
+        private final HikariDataSource dataSource;
+        private volatile boolean inSync;
+
+        public Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public HikariDataSource dataSource() {
+            return dataSource;
+        }
+
+        /**
+         * Hasta la primera comprobación de {@link ReplicaLagMonitor} la réplica se considera atrasada.
+         */
+        public boolean isInSync() {
+            return inSync;
+        }
+
+        void setInSync(boolean inSync) {
+            this.inSync = inSync;
+        }
+
+        int load() {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            // Sin pool todavía: no ha atendido ninguna lectura.
+            return pool == null ? 0 : pool.getActiveConnections() + pool.getThreadsAwaitingConnection();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.movieApp.routing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Mide el retraso de cada réplica con el outbox de cambios: compara el último
+ * {@code seq} de {@code movie_change} en la réplica con el que tenía el
+ * primario hace {@code max-lag-ms}. Si la réplica no lo ha alcanzado, o no
+ * responde, deja de recibir lecturas hasta la siguiente comprobación en la
+ * que esté al día. Hasta que pasa la primera ventana se compara con la
+ * primera muestra del primario, no con 0, para que una réplica vacía o muy
+ * atrasada no cuente como al día al arrancar.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private static final String MAX_SEQ_SQL = "SELECT COALESCE(MAX(seq), 0) FROM movie_change";
+
+    private final JdbcTemplate primary;
+    private final ReadWriteRoutingDataSource routing;
+    private final long maxLagNanos;
+
+    /** Muestras (instante, seq) del primario de la última ventana de {@code max-lag-ms}. */
+    private final Deque<long[]> primarySamples = new ArrayDeque<>();
+
+    public ReplicaLagMonitor(DataSource primary, ReadWriteRoutingDataSource routing, long maxLagMs) {
+        this.primary = new JdbcTemplate(primary);
+        this.routing = routing;
+        this.maxLagNanos = maxLagMs * 1_000_000;
+    }
+
+    @Scheduled(fixedDelayString = "${movies.datasource.routing.lag-check-interval-ms:200}")
+    public synchronized void check() {
+        long now = System.nanoTime();
+        long required;
+        try {
+            primarySamples.addLast(new long[]{now, maxSeq(primary)});
+            required = requiredSeq(now);
+        } catch (RuntimeException e) {
+            logger.warn("No se pudo leer la posición del outbox en el primario: {}", e.getMessage());
+            return;
+        }
+        for (ReadWriteRoutingDataSource.Replica replica : routing.getReplicas()) {
+            boolean inSync;
+            try {
+                inSync = maxSeq(new JdbcTemplate(replica.dataSource())) >= required;
+            } catch (RuntimeException e) {
+                logger.debug("Réplica {} no disponible", replica.name(), e);
+                inSync = false;
+            }
+            if (inSync != replica.isInSync()) {
+                if (inSync) {
+                    logger.info("Réplica {} al día, vuelve a recibir lecturas", replica.name());
+                } else {
+                    logger.warn("Réplica {} atrasada más de {} ms, las lecturas van al primario",
+                            replica.name(), maxLagNanos / 1_000_000);
+                }
+                replica.setInSync(inSync);
+            }
+        }
+    }
+
+    /**
+     * Mayor {@code seq} del primario observado hace al menos {@code max-lag-ms},
+     * o la muestra más antigua si aún no ha pasado ese plazo; descarta las
+     * muestras que ya no hacen falta.
+     */
+    private long requiredSeq(long now) {
+        long[] required = null;
+        while (!primarySamples.isEmpty() && now - primarySamples.peekFirst()[0] >= maxLagNanos) {
+            required = primarySamples.pollFirst();
+        }
+        if (required != null) {
+            // Se conserva como referencia hasta que haya una muestra más reciente que cumpla el plazo.
+            primarySamples.addFirst(required);
+            return required[1];
+        }
+        return primarySamples.peekFirst()[1];
+    }
+
+    private static long maxSeq(JdbcTemplate jdbcTemplate) {
+        Long seq = jdbcTemplate.queryForObject(MAX_SEQ_SQL, Long.class);
+        return seq == null ? 0 : seq;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.movieApp.routing;
+
+/**
+ * Criterio para elegir réplica en cada transacción de solo lectura.
+ */
+public enum ReplicaSelection {
+
+    /** Una réplica tras otra. */
+    ROUND_ROBIN,
+
+    /** La réplica con menos conexiones en uso y en espera en su pool. */
+    LEAST_LOADED
+}
@@ -1,15 +1,28 @@
 package com.example.movieApp.service;
 
+import com.example.movieApp.cluster.MovieNearCache;
 import com.example.movieApp.dto.request.MovieRequest;
+import com.example.movieApp.dto.response.MovieBatchResponse;
 import com.example.movieApp.dto.response.MovieResponse;
 import com.example.movieApp.entity.Movie;
+import com.example.movieApp.event.MovieChangedEvent;
 import com.example.movieApp.exception.listexception.NotFoundException;
+import com.example.movieApp.index.MovieIdIndex;
+import com.example.movieApp.index.SimilarMoviesIndex;
+import com.example.movieApp.replica.MovieCatalogReplica;
 import com.example.movieApp.repository.MovieRepository;
 import com.example.movieApp.service.interfaces.MovieService;
+import com.example.movieApp.service.support.SingleFlight;
 import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.PageRequest;
@@ -24,8 +37,36 @@ public class MovieServiceImpl implements MovieService {
 
     private final MovieRepository movieRepository;
 
-    public MovieServiceImpl(MovieRepository movieRepository) {
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final MovieCatalogReplica catalogReplica;
+
+    private final MovieIdIndex movieIdIndex;
+
+    private final MovieNearCache nearCache;
+
+    private final SimilarMoviesIndex similarMoviesIndex;
+
+    /**
+     * Lecturas concurrentes de la misma película o del mismo listado comparten una sola consulta.
+     * Cada cambio confirmado suelta las consultas en curso afectadas ({@link #onMovieChanged}).
+     */
+    private final SingleFlight<Integer, MovieResponse> movieByIdFlights = new SingleFlight<>();
+
+    private final SingleFlight<OrderedKey, List<MovieResponse>> orderedFlights = new SingleFlight<>();
+
+    public MovieServiceImpl(MovieRepository movieRepository,
+                            ApplicationEventPublisher eventPublisher,
+                            MovieCatalogReplica catalogReplica,
+                            MovieIdIndex movieIdIndex,
+                            MovieNearCache nearCache,
+                            SimilarMoviesIndex similarMoviesIndex) {
         this.movieRepository = movieRepository;
+        this.eventPublisher = eventPublisher;
+        this.catalogReplica = catalogReplica;
+        this.movieIdIndex = movieIdIndex;
+        this.nearCache = nearCache;
+        this.similarMoviesIndex = similarMoviesIndex;
     }
 
     /**
@@ -46,7 +87,9 @@ public class MovieServiceImpl implements MovieService {
 
         logger.info("Película creada con ID: {}", savedMovie.getId());
 
-        return new MovieResponse(savedMovie);
+        MovieResponse response = new MovieResponse(savedMovie);
+        eventPublisher.publishEvent(MovieChangedEvent.created(response));
+        return response;
     }
 
     /**
@@ -60,6 +103,7 @@ public class MovieServiceImpl implements MovieService {
     @Transactional
     @Override
     public MovieResponse updateMovieById(MovieRequest request, int id) {
+        requireKnownId(id);
         Movie movie = movieRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Película no encontrada con id: " + id));
 
@@ -69,28 +113,111 @@ public class MovieServiceImpl implements MovieService {
 
         logger.info("Película actualizada con ID: {}", updatedMovie.getId());
 
-        return new MovieResponse(updatedMovie);
+        MovieResponse response = new MovieResponse(updatedMovie);
+        eventPublisher.publishEvent(MovieChangedEvent.updated(response));
+        return response;
     }
 
     /**
      * Obtiene una película por su ID.
+     * Las consultas de lectura de este servicio se hacen con los métodos de lectura del repositorio,
+     * que abren transacciones de solo lectura; con {@code movies.datasource.routing} van a una réplica.
+     * Si la réplica columnar está activa, se responde desde memoria sin consultar la base;
+     * si no, se consulta la caché cercana (modo clúster) y las peticiones concurrentes
+     * del mismo ID comparten una única consulta.
      *
      * @param id ID de la película
      * @return Respuesta con la película encontrada
      */
     @Override
     public MovieResponse getMovieById(int id) {
-        Movie movie = movieRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Película no encontrada con id: " + id));
+        requireKnownId(id);
+        if (catalogReplica.isReady()) {
+            MovieResponse response = catalogReplica.findById(id);
+            if (response == null) {
+                throw new NotFoundException("Película no encontrada con id: " + id);
+            }
+            return response;
+        }
+        if (nearCache.isEnabled()) {
+            MovieResponse cached = nearCache.get(id);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        return movieByIdFlights.execute(id, () -> {
+            long generation = nearCache.generation();
+            Movie movie = movieRepository.findById(id)
+                    .orElseThrow(() -> new NotFoundException("Película no encontrada con id: " + id));
+
+            logger.debug("Película obtenida con ID: {}", id);
+
+            MovieResponse response = new MovieResponse(movie);
+            nearCache.put(id, response, generation);
+            return response;
+        });
+    }
+
+    /**
+     * Obtiene varias películas por ID en una sola llamada.
+     * Cada ID se resuelve primero en memoria (réplica columnar, índice de IDs para los que
+     * seguro no existen, caché cercana) y los restantes con una única consulta IN.
+     * Los IDs repetidos se devuelven una sola vez, en la posición de su primera aparición.
+     *
+     * @param ids IDs de las películas, en el orden en que se quieren
+     * @return Películas encontradas e IDs inexistentes, ambos en el orden de la petición
+     */
+    @Override
+    public MovieBatchResponse getMoviesByIds(List<Integer> ids) {
+        LinkedHashSet<Integer> requested = new LinkedHashSet<>(ids);
+        Map<Integer, MovieResponse> found = new HashMap<>();
+        List<Integer> pending = new ArrayList<>();
+        boolean replicaReady = catalogReplica.isReady();
+        for (Integer id : requested) {
+            if (id == null || movieIdIndex.isReady() && !movieIdIndex.mightContain(id)) {
+                continue;
+            }
+            MovieResponse movie = replicaReady ? catalogReplica.findById(id)
+                    : nearCache.isEnabled() ? nearCache.get(id) : null;
+            if (movie != null) {
+                found.put(id, movie);
+            } else if (!replicaReady) {
+                pending.add(id);
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            long generation = nearCache.generation();
+            for (Movie movie : movieRepository.findAllById(pending)) {
+                MovieResponse response = new MovieResponse(movie);
+                found.put(movie.getId(), response);
+                nearCache.put(movie.getId(), response, generation);
+            }
+        }
+
+        List<MovieResponse> movies = new ArrayList<>(found.size());
+        List<Integer> missing = new ArrayList<>();
+        for (Integer id : requested) {
+            MovieResponse movie = found.get(id);
+            if (movie != null) {
+                movies.add(movie);
+            } else if (id != null) {
+                missing.add(id);
+            }
+        }
 
-        logger.info("Película obtenida con ID: {}", id);
+        logger.debug("Lote de {} IDs: {} encontradas, {} consultadas a la base, {} inexistentes",
+                requested.size(), movies.size(), pending.size(), missing.size());
 
-        return new MovieResponse(movie);
+        return new MovieBatchResponse(movies, missing);
     }
 
     /**
      * Obtiene una lista de películas ordenadas y limitadas.
-     * La paginación y orden se hacen a nivel de base de datos para optimizar rendimiento.
+     * La paginación y orden se hacen a nivel de base de datos para optimizar rendimiento,
+     * o en memoria si la réplica columnar está activa. Las peticiones concurrentes con
+     * los mismos parámetros comparten una única consulta.
      *
      * @param total Número máximo de películas a obtener
      * @param order Orden ("asc" o "desc") por nombre de película
@@ -107,26 +234,69 @@ public class MovieServiceImpl implements MovieService {
 
         int limit = total > 0 ? total : Integer.MAX_VALUE;
 
+        if (catalogReplica.isReady()) {
+            return catalogReplica.findOrdered(limit, "desc".equalsIgnoreCase(order));
+        }
+
         PageRequest pageRequest = PageRequest.of(0, limit, sort);
 
-        List<Movie> movies = movieRepository.findAll(pageRequest).getContent();
+        return orderedFlights.execute(new OrderedKey(limit, sort.getOrderFor("film").isDescending()), () -> {
+            List<Movie> movies = movieRepository.findAll(pageRequest).getContent();
 
-        logger.info("Obtenidas {} películas ordenadas {}", movies.size(), order);
+            logger.debug("Obtenidas {} películas ordenadas {}", movies.size(), order);
 
-        return movies.stream()
+            // La lista puede compartirse entre varias peticiones, así que no se puede modificar.
+            return movies.stream()
+                    .map(MovieResponse::new)
+                    .collect(Collectors.toUnmodifiableList());
+        });
+    }
+
+    /**
+     * Obtiene las películas más parecidas a una dada por género, estudio, puntuación y año.
+     * Se responde desde el índice precalculado de vecinas; mientras no está listo (o si está
+     * desactivado, o aún no incluye una película recién creada) se calcula recorriendo el
+     * catálogo completo.
+     *
+     * @param id    ID de la película
+     * @param limit Número máximo de resultados (como mucho {@code movies.similar.k})
+     * @return Películas ordenadas de más a menos parecida
+     */
+    @Override
+    public List<MovieResponse> getSimilarMovies(int id, int limit) {
+        requireKnownId(id);
+        int size = Math.max(0, Math.min(limit, similarMoviesIndex.maxResults()));
+        if (similarMoviesIndex.isReady()) {
+            List<MovieResponse> similar = similarMoviesIndex.findSimilar(id, size);
+            if (similar != null) {
+                return similar;
+            }
+            // Recién creada: el índice la incorpora en segundo plano.
+        }
+
+        Movie movie = movieRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Película no encontrada con id: " + id));
+        List<MovieResponse> catalog = movieRepository.findAll().stream()
                 .map(MovieResponse::new)
-                .collect(Collectors.toList());
+                .toList();
+
+        logger.debug("Películas similares a ID {} calculadas sobre {} películas", id, catalog.size());
+
+        return SimilarMoviesIndex.rank(new MovieResponse(movie), catalog, size);
     }
 
     /**
      * Elimina una película por su ID.
      * Retorna ResponseEntity<Void> con código 204 No Content para ser más RESTful.
+     * Es transaccional para que el registro en el outbox de cambios se confirme junto con el borrado.
      *
      * @param id ID de la película a eliminar
      * @return ResponseEntity sin contenido
      */
+    @Transactional
     @Override
     public ResponseEntity<Void> deleteMovieById(int id) {
+        requireKnownId(id);
         if (!movieRepository.existsById(id)) {
             throw new NotFoundException("Película no encontrada con id: " + id);
         }
@@ -134,9 +304,83 @@ public class MovieServiceImpl implements MovieService {
 
         logger.info("Película eliminada con ID: {}", id);
 
+        eventPublisher.publishEvent(MovieChangedEvent.deleted(id));
+
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Actualiza solo la puntuación de una película.
+     *
+     * @param id    ID de la película
+     * @param score Nueva puntuación
+     * @return Respuesta con la película actualizada
+     */
+    @Transactional
+    @Override
+    public MovieResponse updateMovieScore(int id, int score) {
+        requireKnownId(id);
+        Movie movie = movieRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Película no encontrada con id: " + id));
+
+        movie.setScore(score);
+
+        logger.info("Puntuación actualizada para película ID: {}", id);
+
+        MovieResponse response = new MovieResponse(movie);
+        eventPublisher.publishEvent(MovieChangedEvent.updated(response));
+        return response;
+    }
+
+    /**
+     * Aplica un lote de puntuaciones en una sola transacción: una consulta para
+     * cargar las películas y los UPDATE agrupados en batch JDBC al confirmar
+     * ({@code hibernate.jdbc.batch_size}). Los IDs que ya no existen se ignoran.
+     *
+     * @param scores Puntuación nueva por ID de película
+     * @return Número de películas actualizadas
+     */
+    @Transactional
+    @Override
+    public int applyScores(Map<Integer, Integer> scores) {
+        List<Movie> movies = movieRepository.findAllById(scores.keySet());
+        for (Movie movie : movies) {
+            movie.setScore(scores.get(movie.getId()));
+            eventPublisher.publishEvent(MovieChangedEvent.updated(new MovieResponse(movie)));
+        }
+
+        if (movies.size() < scores.size()) {
+            logger.warn("Se descartaron {} puntuaciones de películas inexistentes", scores.size() - movies.size());
+        }
+        logger.info("Aplicadas {} puntuaciones en lote", movies.size());
+
+        return movies.size();
+    }
+
+    /**
+     * Al confirmarse un cambio, las lecturas que empiecen después ya no se unen a
+     * una consulta iniciada antes de él, así que un GET posterior a un PUT ve el
+     * PUT. Las que ya esperaban reciben el resultado de esa consulta.
+     *
+     * @param event Cambio confirmado, local o de otro nodo
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieChanged(MovieChangedEvent event) {
+        movieByIdFlights.forget(event.getMovieId());
+        orderedFlights.forgetAll();
+    }
+
+    /**
+     * Responde 404 sin consultar la base cuando el índice de IDs sabe que la película no existe.
+     *
+     * @param id ID de la película
+     */
+    private void requireKnownId(int id) {
+        if (movieIdIndex.isReady() && !movieIdIndex.mightContain(id)) {
+            throw new NotFoundException("Película no encontrada con id: " + id);
+        }
+    }
+
     /**
      * Actualiza los campos editables de una entidad Movie desde un MovieRequest.
      * Evita duplicación de código.
@@ -169,4 +413,10 @@ public class MovieServiceImpl implements MovieService {
         movie.setReleaseYear(request.getYear());
         return movie;
     }
+
+    /**
+     * Clave de {@link #orderedFlights}: "asc" y cualquier otro valor distinto de "desc" son la misma consulta.
+     */
+    private record OrderedKey(int limit, boolean descending) {
+    }
 }
@@ -1,11 +1,13 @@
 package com.example.movieApp.service.interfaces;
 
 import com.example.movieApp.dto.request.MovieRequest;
+import com.example.movieApp.dto.response.MovieBatchResponse;
 import com.example.movieApp.dto.response.MovieResponse;
 import com.example.movieApp.dto.response.ResponseMessage;
 import org.springframework.http.ResponseEntity;
 
 import java.util.List;
+import java.util.Map;
 
 public interface MovieService {
 
@@ -15,7 +17,15 @@ public interface MovieService {
 
     MovieResponse getMovieById(int id);
 
+    MovieBatchResponse getMoviesByIds(List<Integer> ids);
+
     List<MovieResponse> getMoviesOrdered(int total, String order);
 
+    List<MovieResponse> getSimilarMovies(int id, int limit);
+
     ResponseEntity<Void> deleteMovieById(int id);
+
+    MovieResponse updateMovieScore(int id, int score);
+
+    int applyScores(Map<Integer, Integer> scores);
 }
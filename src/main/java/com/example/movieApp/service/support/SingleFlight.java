@@ -0,0 +1,73 @@
+package com.example.movieApp.service.support;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa llamadas concurrentes con la misma clave ("single-flight"): la
+ * primera ejecuta la carga y las que llegan mientras tanto esperan y reciben
+ * el mismo resultado o la misma excepción, en lugar de repetir la consulta.
+ *
+ * No es una caché: en cuanto la carga termina la clave se libera y la
+ * siguiente llamada vuelve a ejecutarla. Un llamante que se une a una carga
+ * en curso puede recibir datos leídos justo antes de un cambio concurrente,
+ * igual que si su propia consulta hubiera empezado en ese momento. Para que
+ * las llamadas posteriores a un cambio no se unan a una carga anterior, quien
+ * confirma el cambio llama a {@link #forget}.
+ *
+ * @param <K> clave de la llamada (debe implementar equals/hashCode)
+ * @param <V> resultado compartido; no debe modificarse después de devolverlo
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            return await(existing);
+        }
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * Suelta la carga en curso de la clave: quien ya espera recibe su
+     * resultado, pero las llamadas siguientes ejecutan una carga nueva.
+     */
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    /**
+     * Suelta las cargas en curso de todas las claves.
+     */
+    public void forgetAll() {
+        inFlight.clear();
+    }
+
+    private static <V> V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
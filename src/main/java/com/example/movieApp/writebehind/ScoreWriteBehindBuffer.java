@@ -0,0 +1,159 @@
+package com.example.movieApp.writebehind;
+
+import com.example.movieApp.exception.listexception.NotFoundException;
+import com.example.movieApp.exception.listexception.TooManyRequestsException;
+import com.example.movieApp.index.MovieIdIndex;
+import com.example.movieApp.service.interfaces.MovieService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Buffer write-behind para las actualizaciones de puntuación
+ * ({@code PATCH /api/movies/{id}/score}). Es opcional y se activa con
+ * {@code movies.score-write-behind.enabled=true}.
+ *
+ * Las puntuaciones pendientes se guardan en un mapa id → puntuación, de modo
+ * que varias actualizaciones de la misma película antes del siguiente volcado
+ * se reducen a una sola escritura (gana la última). Cada
+ * {@code flush-interval-ms} se vuelcan en lotes de {@code max-batch} con una
+ * transacción por lote ({@link MovieService#applyScores}).
+ *
+ * El número de películas pendientes está acotado por {@code max-pending}; al
+ * llegar al límite las nuevas películas se rechazan con 429 hasta el próximo
+ * volcado. Las películas que el índice de IDs sabe inexistentes se rechazan
+ * con 404 antes de entrar al buffer, y un PUT o DELETE descarta la puntuación
+ * pendiente de esa película para que el volcado no la pise después. Al cerrar la aplicación se vuelca todo lo pendiente; una caída
+ * abrupta del proceso sí pierde las puntuaciones que no se hayan volcado.
+ */
+@Component
+public class ScoreWriteBehindBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScoreWriteBehindBuffer.class);
+
+    private final MovieService movieService;
+    private final MovieIdIndex movieIdIndex;
+    private final boolean enabled;
+    private final int maxPending;
+    private final int maxBatch;
+    private final long retryAfterSeconds;
+
+    private final ConcurrentHashMap<Integer, Integer> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    public ScoreWriteBehindBuffer(MovieService movieService,
+                                  MovieIdIndex movieIdIndex,
+                                  @Value("${movies.score-write-behind.enabled:false}") boolean enabled,
+                                  @Value("${movies.score-write-behind.max-pending:10000}") int maxPending,
+                                  @Value("${movies.score-write-behind.max-batch:500}") int maxBatch,
+                                  @Value("${movies.score-write-behind.flush-interval-ms:200}") long flushIntervalMs) {
+        this.movieService = movieService;
+        this.movieIdIndex = movieIdIndex;
+        this.enabled = enabled;
+        this.maxPending = maxPending;
+        this.maxBatch = maxBatch;
+        this.retryAfterSeconds = Math.max(1, (flushIntervalMs + 999) / 1000);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Deja la puntuación pendiente de escritura. Sin el índice de IDs cargado
+     * no se puede comprobar la película, y si no existe se descarta al volcar.
+     *
+     * @throws NotFoundException si el índice de IDs sabe que la película no existe
+     * @throws TooManyRequestsException si el buffer está lleno y la película no tenía ya una puntuación pendiente
+     */
+    public void submit(int id, int score) {
+        if (movieIdIndex.isReady() && !movieIdIndex.mightContain(id)) {
+            throw new NotFoundException("Película no encontrada con id: " + id);
+        }
+        pending.compute(id, (key, previous) -> {
+            if (previous == null) {
+                if (pendingCount.get() >= maxPending) {
+                    throw new TooManyRequestsException(
+                            "Demasiadas puntuaciones pendientes de escritura, reintente más tarde", retryAfterSeconds);
+                }
+                pendingCount.incrementAndGet();
+            }
+            return score;
+        });
+    }
+
+    /**
+     * Descarta la puntuación pendiente de una película antes de reemplazarla o
+     * eliminarla. Si un volcado en curso la incluye, espera a que termine para
+     * que no se aplique después de la escritura que viene.
+     */
+    public void discard(int id) {
+        if (!pending.containsKey(id)) {
+            return;
+        }
+        synchronized (this) {
+            if (pending.remove(id) != null) {
+                pendingCount.decrementAndGet();
+            }
+        }
+    }
+
+    public int pendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * Vuelca las puntuaciones pendientes. Si un lote falla se conserva en el
+     * buffer y se reintenta en el siguiente volcado.
+     */
+    @Scheduled(fixedDelayString = "${movies.score-write-behind.flush-interval-ms:200}")
+    public synchronized void flush() {
+        if (!enabled) {
+            return;
+        }
+        // Como mucho lo pendiente al empezar, para no quedarse volcando indefinidamente bajo carga.
+        int rounds = pendingCount.get() / maxBatch + 1;
+        for (int round = 0; round < rounds && !pending.isEmpty(); round++) {
+            Map<Integer, Integer> batch = nextBatch();
+            try {
+                movieService.applyScores(batch);
+            } catch (RuntimeException e) {
+                logger.error("Error al volcar {} puntuaciones, se reintentará: {}", batch.size(), e.getMessage());
+                return;
+            }
+            // Si llegó una puntuación más nueva durante el volcado se queda para el siguiente.
+            batch.forEach((id, score) -> {
+                if (pending.remove(id, score)) {
+                    pendingCount.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        if (enabled && !pending.isEmpty()) {
+            logger.info("Volcando {} puntuaciones pendientes antes de cerrar", pending.size());
+            flush();
+        }
+    }
+
+    private Map<Integer, Integer> nextBatch() {
+        Map<Integer, Integer> batch = new LinkedHashMap<>();
+        Iterator<Map.Entry<Integer, Integer>> entries = pending.entrySet().iterator();
+        while (entries.hasNext() && batch.size() < maxBatch) {
+            Map.Entry<Integer, Integer> entry = entries.next();
+            batch.put(entry.getKey(), entry.getValue());
+        }
+        return batch;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.movieApp.admission;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PoolSaturationMonitorTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private HikariDataSource hikariDataSource;
+
+    @Mock
+    private HikariPoolMXBean pool;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private PoolSaturationMonitor monitor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(dataSource.isWrapperFor(HikariDataSource.class)).thenReturn(true);
+        when(dataSource.unwrap(HikariDataSource.class)).thenReturn(hikariDataSource);
+        when(hikariDataSource.getHikariPoolMXBean()).thenReturn(pool);
+        when(hikariDataSource.getPoolName()).thenReturn("moviesPool");
+        meterRegistry = new SimpleMeterRegistry();
+        monitor = new PoolSaturationMonitor(dataSource, meterRegistry, true, 50, 20);
+    }
+
+    /**
+     * Verifica que el pool se marque como saturado cuando hay más hilos
+     * esperando conexión que el umbral, y que se recupere al vaciarse la cola.
+     */
+    @Test
+    void testSaturatedWhenTooManyThreadsAwaiting() {
+        when(pool.getThreadsAwaitingConnection()).thenReturn(25, 0);
+
+        monitor.sample();
+        assertTrue(monitor.isSaturated());
+
+        monitor.sample();
+        assertFalse(monitor.isSaturated());
+    }
+
+    /**
+     * Valida que se use la espera media de las conexiones obtenidas desde la
+     * muestra anterior, y no la acumulada desde el arranque.
+     */
+    @Test
+    void testSaturatedWhenRecentAcquireWaitIsHigh() {
+        when(pool.getThreadsAwaitingConnection()).thenReturn(0);
+        Timer acquire = meterRegistry.timer("hikaricp.connections.acquire", "pool", "moviesPool");
+        // El de otro pool (una réplica de lectura) no cuenta.
+        meterRegistry.timer("hikaricp.connections.acquire", "pool", "moviesPool-replica-0").record(Duration.ofSeconds(1));
+
+        acquire.record(Duration.ofMillis(200));
+        acquire.record(Duration.ofMillis(100));
+        monitor.sample();
+        assertTrue(monitor.isSaturated());
+
+        acquire.record(Duration.ofMillis(2));
+        monitor.sample();
+        assertFalse(monitor.isSaturated());
+    }
+}
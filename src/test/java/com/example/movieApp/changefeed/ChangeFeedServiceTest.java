@@ -0,0 +1,93 @@
+package com.example.movieApp.changefeed;
+
+import com.example.movieApp.dto.response.ChangeFeedResponse;
+import com.example.movieApp.dto.response.MovieChangeResponse;
+import com.example.movieApp.entity.MovieChange;
+import com.example.movieApp.event.MovieChangedEvent;
+import com.example.movieApp.repository.MovieChangeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ChangeFeedServiceTest {
+
+    /**
+     * Verifica que un commit con varios consumidores en espera se resuelva con
+     * una sola consulta desde el menor offset, y que cada consumidor reciba
+     * solo los cambios posteriores al suyo.
+     */
+    @Test
+    void testCommitWakesAllWaitingPollsWithOneQuery() throws Exception {
+        MovieChangeRepository repository = mock(MovieChangeRepository.class);
+        when(repository.findBySeqGreaterThanOrderBySeqAsc(anyLong(), any(Pageable.class))).thenReturn(List.of());
+        ChangeFeedService service = new ChangeFeedService(repository, 500, 30_000, 10_000);
+
+        DeferredResult<ChangeFeedResponse> first = service.poll(5, 100, 10_000);
+        DeferredResult<ChangeFeedResponse> second = service.poll(6, 100, 10_000);
+        assertFalse(first.hasResult());
+
+        when(repository.findBySeqGreaterThanOrderBySeqAsc(eq(5L), any(Pageable.class)))
+                .thenReturn(List.of(change(6), change(7)));
+        service.onMovieChanged(MovieChangedEvent.deleted(1));
+
+        assertEquals(List.of(6L, 7L), seqs(first));
+        assertEquals(List.of(7L), seqs(second));
+        // Una consulta por poll al registrarse y una sola para el commit.
+        verify(repository, times(3)).findBySeqGreaterThanOrderBySeqAsc(anyLong(), any(Pageable.class));
+        service.shutdown();
+    }
+
+    /**
+     * Comprueba que el feed no devuelva cambios posteriores a un hueco
+     * reciente de {@code seq} (un commit concurrente que aún puede llegar), y que un hueco más antiguo que el tiempo de espera no frene la lectura.
+     */
+    @Test
+    void testFeedStopsBeforeRecentGap() {
+        MovieChangeRepository repository = mock(MovieChangeRepository.class);
+        ChangeFeedService service = new ChangeFeedService(repository, 500, 30_000, 10_000);
+
+        when(repository.findBySeqGreaterThanOrderBySeqAsc(eq(5L), any(Pageable.class)))
+                .thenReturn(List.of(change(6, Instant.now()), change(8, Instant.now()), change(9, Instant.now())));
+        ChangeFeedResponse held = service.fetch(5, 100);
+        assertEquals(List.of(6L), held.getChanges().stream().map(MovieChangeResponse::getSeq).toList());
+        assertEquals(6L, held.getNextOffset());
+
+        Instant old = Instant.now().minusSeconds(60);
+        when(repository.findBySeqGreaterThanOrderBySeqAsc(eq(5L), any(Pageable.class)))
+                .thenReturn(List.of(change(6, old), change(8, old), change(9, Instant.now())));
+        ChangeFeedResponse expired = service.fetch(5, 100);
+        assertEquals(List.of(6L, 8L, 9L), expired.getChanges().stream().map(MovieChangeResponse::getSeq).toList());
+        service.shutdown();
+    }
+
+    private static List<Long> seqs(DeferredResult<ChangeFeedResponse> result) throws Exception {
+        CompletableFuture<ChangeFeedResponse> future = new CompletableFuture<>();
+        result.setResultHandler(value -> future.complete((ChangeFeedResponse) value));
+        return future.get(5, TimeUnit.SECONDS).getChanges().stream().map(MovieChangeResponse::getSeq).toList();
+    }
+
+    private static MovieChange change(long seq) {
+        MovieChange change = new MovieChange();
+        change.setSeq(seq);
+        change.setType(MovieChangedEvent.ChangeType.DELETED);
+        change.setMovieId(1);
+        return change;
+    }
+
+    private static MovieChange change(long seq, Instant changedAt) {
+        MovieChange change = change(seq);
+        change.setChangedAt(changedAt);
+        return change;
+    }
+}
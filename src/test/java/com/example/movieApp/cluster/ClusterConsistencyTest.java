@@ -0,0 +1,135 @@
+package com.example.movieApp.cluster;
+
+import com.example.movieApp.MovieAppApplication;
+import com.example.movieApp.dto.request.MovieRequest;
+import com.example.movieApp.dto.response.MovieResponse;
+import com.example.movieApp.exception.listexception.NotFoundException;
+import com.example.movieApp.loader.MovieCsvImporter;
+import com.example.movieApp.service.interfaces.MovieService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Arranca dos nodos en el mismo proceso sobre una base H2 con nombre
+ * compartida, como sustituto de la base PostgreSQL del perfil cluster.
+ * El nodo A usa la réplica columnar y el nodo B la caché cercana.
+ */
+public class ClusterConsistencyTest {
+
+    private static final long MAX_DELAY_MS = 5000;
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        String url = "jdbc:h2:mem:cluster-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=5000";
+        nodeA = startNode(url, "a", "create", "movies.replica.enabled=true");
+        nodeB = startNode(url, "b", "none", "movies.near-cache.enabled=true");
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (nodeA != null) {
+            nodeA.close();
+        }
+    }
+
+    /**
+     * Una actualización en A invalida la caché cercana de B, y una alta y una
+     * baja en B llegan a la réplica y al índice de IDs de A.
+     */
+    @Test
+    void testWritesAreVisibleOnOtherNode() {
+        MovieService serviceA = nodeA.getBean(MovieService.class);
+        MovieService serviceB = nodeB.getBean(MovieService.class);
+
+        int id = serviceB.getMoviesOrdered(1, "asc").get(0).getId();
+        MovieResponse before = serviceB.getMovieById(id);
+        assertEquals(1, nodeB.getBean(MovieNearCache.class).size());
+
+        serviceA.updateMovieById(new MovieRequest("Renombrada en A", before.getGenre(), before.getStudio(),
+                before.getScore(), before.getYear()), id);
+        awaitTrue(() -> "Renombrada en A".equals(serviceB.getMovieById(id).getFilm()));
+
+        MovieResponse created = serviceB.createMovie(new MovieRequest("Creada en B", "Drama", "Estudio B", 7, 2024));
+        awaitTrue(() -> exists(serviceA, created.getId()));
+        assertEquals("Creada en B", serviceA.getMovieById(created.getId()).getFilm());
+
+        serviceB.deleteMovieById(created.getId());
+        awaitTrue(() -> !exists(serviceA, created.getId()));
+    }
+
+    /**
+     * Una importación incremental en A que cambia una fila del CSV llega a la
+     * caché cercana de B a través del outbox, como cualquier cambio de la API.
+     */
+    @Test
+    void testCsvImportChangesAreVisibleOnOtherNode() throws Exception {
+        MovieService serviceB = nodeB.getBean(MovieService.class);
+        int id = nodeA.getBean(JdbcTemplate.class)
+                .queryForObject("SELECT id FROM movie WHERE source_id = 2", Integer.class);
+        assertEquals("Youth in Revolt", serviceB.getMovieById(id).getFilm());
+
+        String csv = new ClassPathResource("movies.csv").getContentAsString(StandardCharsets.UTF_8)
+                .replace("2,Youth in Revolt,", "2,Youth in Revolt (Director's Cut),");
+        nodeA.getBean(MovieCsvImporter.class)
+                .importDelta(List.of(ByteBuffer.wrap(csv.getBytes(StandardCharsets.UTF_8))), true);
+
+        awaitTrue(() -> "Youth in Revolt (Director's Cut)".equals(serviceB.getMovieById(id).getFilm()));
+    }
+
+    private static ConfigurableApplicationContext startNode(String url, String nodeId, String ddlAuto, String extra) {
+        return new SpringApplicationBuilder(MovieAppApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + url,
+                        "--spring.datasource.hikari.pool-name=node-" + nodeId,
+                        "--spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                        "--movies.loader.mode=delta",
+                        "--movies.cluster.enabled=true",
+                        "--movies.cluster.node-id=" + nodeId,
+                        "--movies.cluster.poll-interval-ms=50",
+                        "--" + extra);
+    }
+
+    private static boolean exists(MovieService service, int id) {
+        try {
+            service.getMovieById(id);
+            return true;
+        } catch (NotFoundException e) {
+            return false;
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + MAX_DELAY_MS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("El cambio no llegó al otro nodo en " + MAX_DELAY_MS + " ms");
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.movieApp.configuration;
+
+import com.example.movieApp.dto.response.MovieResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MovieListMessageConverterTest {
+
+    /**
+     * Verifica que el writer precalculado produzca el mismo JSON que el
+     * ObjectMapper y que solo se ofrezca para listas de MovieResponse en JSON.
+     */
+    @Test
+    void testWritesMovieListsLikeObjectMapper() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        MovieListMessageConverter converter = new MovieListMessageConverter(objectMapper);
+        List<MovieResponse> movies = List.of(new MovieResponse(1, "Up", "Animation", "Pixar", 98, 2009),
+                new MovieResponse(2, "Heat", null, "Fox", null, 1995));
+        var movieList = new ParameterizedTypeReference<List<MovieResponse>>() {
+        }.getType();
+        var stringList = new ParameterizedTypeReference<List<String>>() {
+        }.getType();
+
+        assertTrue(converter.canWrite(movieList, List.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(stringList, List.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(movieList, List.class, MediaType.valueOf("application/cbor")));
+
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(movies, movieList, MediaType.APPLICATION_JSON, output);
+
+        assertEquals(objectMapper.writeValueAsString(movies), output.getBodyAsString());
+    }
+
+    /**
+     * Verifica que escribir el listado no cierre el stream de la respuesta,
+     * que pertenece al contenedor de servlets.
+     */
+    @Test
+    void testDoesNotCloseResponseStream() throws Exception {
+        MovieListMessageConverter converter = new MovieListMessageConverter(new ObjectMapper());
+        var movieList = new ParameterizedTypeReference<List<MovieResponse>>() {
+        }.getType();
+        boolean[] closed = {false};
+        ByteArrayOutputStream body = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+        HttpHeaders headers = new HttpHeaders();
+        HttpOutputMessage output = new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return body;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        };
+
+        converter.write(List.of(new MovieResponse(1, "Up", "Animation", "Pixar", 98, 2009)), movieList,
+                MediaType.APPLICATION_JSON, output);
+
+        assertFalse(closed[0]);
+        assertTrue(body.size() > 0);
+    }
+}
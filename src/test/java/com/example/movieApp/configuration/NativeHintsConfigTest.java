@@ -0,0 +1,29 @@
+package com.example.movieApp.configuration;
+
+import com.example.movieApp.dictionary.GenreConverter;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Comprueba las pistas de {@link NativeHintsConfig} sin compilar una imagen nativa.
+ */
+public class NativeHintsConfigTest {
+
+    /**
+     * Verifica que el CSV de carga inicial y los conversores de Hibernate
+     * queden registrados para la imagen nativa.
+     */
+    @Test
+    void testRegistersCsvAndConverters() {
+        RuntimeHints hints = new RuntimeHints();
+        new NativeHintsConfig.MovieRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertTrue(RuntimeHintsPredicates.resource().forResource("movies.csv").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(GenreConverter.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+    }
+}
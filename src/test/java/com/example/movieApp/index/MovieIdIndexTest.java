@@ -0,0 +1,59 @@
+package com.example.movieApp.index;
+
+import com.example.movieApp.dto.response.MovieResponse;
+import com.example.movieApp.event.MovieChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MovieIdIndexTest {
+
+    private static MovieChangedEvent created(int id) {
+        return MovieChangedEvent.created(new MovieResponse(id, "Up", "Animation", "Pixar", 98, 2009));
+    }
+
+    /**
+     * Verifica que el índice refleje altas y bajas, incluidos IDs que
+     * obligan a ampliar el bitset, y que nunca diga que un ID dado de alta
+     * no existe.
+     */
+    @Test
+    void testTracksCreatedAndDeletedIds() {
+        MovieIdIndex index = new MovieIdIndex(null, true);
+
+        index.onMovieCreated(created(1));
+        index.onMovieCreated(created(63));
+        index.onMovieCreated(created(64));
+        index.onMovieCreated(created(1_000_000));
+
+        assertTrue(index.mightContain(1));
+        assertTrue(index.mightContain(63));
+        assertTrue(index.mightContain(64));
+        assertTrue(index.mightContain(1_000_000));
+        assertFalse(index.mightContain(2));
+        assertFalse(index.mightContain(5_000_000));
+        assertFalse(index.mightContain(-1));
+
+        index.onMovieDeleted(MovieChangedEvent.deleted(63));
+        index.onMovieDeleted(MovieChangedEvent.deleted(7_000_000));
+
+        assertFalse(index.mightContain(63));
+        assertTrue(index.mightContain(64));
+    }
+
+    /**
+     * Valida que los eventos no se mezclen: una baja no afecta al listener
+     * de altas ni una alta al de bajas.
+     */
+    @Test
+    void testListenersOnlyHandleTheirChangeType() {
+        MovieIdIndex index = new MovieIdIndex(null, true);
+
+        index.onMovieDeleted(created(5));
+        assertFalse(index.mightContain(5));
+
+        index.onMovieCreated(created(5));
+        index.onMovieCreated(MovieChangedEvent.deleted(5));
+        assertTrue(index.mightContain(5));
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.movieApp.index;
+
+import com.example.movieApp.repository.MovieRepository;
+import com.example.movieApp.service.interfaces.MovieService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Mide el coste de un 404 en getMovieById: el camino anterior (consulta a la
+ * base y excepción con stack trace) frente al actual (índice de IDs y
+ * excepción sin traza), a nivel de servicio y de petición HTTP completa.
+ * Se ejecuta con {@code mvn test -Pbenchmark}; los números son orientativos.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "movies.rate-limit.enabled=false")
+@AutoConfigureMockMvc
+public class NotFoundBenchmarkTest {
+
+    private static final int MISSING_FROM = 10_000_000;
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private MovieIdIndex movieIdIndex;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void measureNotFoundThroughput() throws Exception {
+        assertTrue(movieIdIndex.isReady());
+
+        double before = opsPerSecond(i -> {
+            int id = MISSING_FROM + i;
+            if (movieRepository.findById(id).isEmpty()) {
+                throw new RuntimeException("Película no encontrada con id: " + id);
+            }
+        });
+        double after = opsPerSecond(i -> movieService.getMovieById(MISSING_FROM + i));
+        System.out.printf("404 en servicio: antes %.0f ops/s, ahora %.0f ops/s (x%.0f)%n", before, after, after / before);
+
+        for (int i = 0; i < WARMUP / 10; i++) {
+            mockMvc.perform(get("/api/movies/{id}", MISSING_FROM + i));
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS / 10; i++) {
+            int status = mockMvc.perform(get("/api/movies/{id}", MISSING_FROM + i)).andReturn().getResponse().getStatus();
+            assertEquals(404, status);
+        }
+        double http = ITERATIONS / 10 / ((System.nanoTime() - start) / 1e9);
+        System.out.printf("404 por HTTP (MockMvc): %.0f peticiones/s%n", http);
+    }
+
+    private static double opsPerSecond(MissingLookup lookup) {
+        for (int i = 0; i < WARMUP; i++) {
+            run(lookup, i);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            run(lookup, i);
+        }
+        return ITERATIONS / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private static void run(MissingLookup lookup, int i) {
+        try {
+            lookup.find(i);
+        } catch (RuntimeException expected) {
+            return;
+        }
+        fail("Se esperaba un 404");
+    }
+
+    @FunctionalInterface
+    private interface MissingLookup {
+        void find(int i);
+    }
+}
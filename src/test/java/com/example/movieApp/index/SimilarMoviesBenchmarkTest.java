@@ -0,0 +1,80 @@
+package com.example.movieApp.index;
+
+import com.example.movieApp.dto.response.MovieResponse;
+import com.example.movieApp.entity.Movie;
+import com.example.movieApp.event.MovieChangedEvent;
+import com.example.movieApp.repository.MovieRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Coste de construir y mantener el índice de similares frente a calcular la
+ * lista en cada petición. Se ejecuta con {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+public class SimilarMoviesBenchmarkTest {
+
+    private static final int MOVIES = 50_000;
+    private static final String[] GENRES = {"Comedy", "Drama", "Romance", "Animation", "Action", "Fantasy", "Thriller"};
+
+    @Test
+    void compareIndexWithFullScan() {
+        Random random = new Random(7);
+        List<Movie> catalog = new ArrayList<>(MOVIES);
+        for (int id = 1; id <= MOVIES; id++) {
+            catalog.add(Movie.builder().id(id).film("Movie " + id).genre(GENRES[random.nextInt(GENRES.length)])
+                    .studio("Studio " + random.nextInt(200)).score(random.nextInt(101))
+                    .releaseYear(1950 + random.nextInt(70)).build());
+        }
+        MovieRepository repository = mock(MovieRepository.class);
+        when(repository.findAll()).thenReturn(catalog);
+        SimilarMoviesIndex index = new SimilarMoviesIndex(repository, true, 10);
+
+        long start = System.nanoTime();
+        index.load();
+        System.out.printf("Construcción: %d películas en %d ms%n", MOVIES, (System.nanoTime() - start) / 1_000_000);
+
+        int lookups = 200_000;
+        Object sink = null;
+        start = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            sink = index.findSimilar(1 + i % MOVIES, 10);
+        }
+        assertNotNull(sink);
+        double lookupMicros = (System.nanoTime() - start) / 1000.0 / lookups;
+
+        List<MovieResponse> responses = catalog.stream().map(MovieResponse::new).toList();
+        int scans = 200;
+        start = System.nanoTime();
+        for (int i = 0; i < scans; i++) {
+            sink = SimilarMoviesIndex.rank(responses.get(i), responses, 10);
+        }
+        assertNotNull(sink);
+        double scanMicros = (System.nanoTime() - start) / 1000.0 / scans;
+        System.out.printf("Consulta: índice %.2f µs, recorrido completo %.0f µs (x%.0f)%n",
+                lookupMicros, scanMicros, scanMicros / lookupMicros);
+
+        int updates = 500;
+        start = System.nanoTime();
+        for (int i = 0; i < updates; i++) {
+            index.onMovieChanged(MovieChangedEvent.updated(new MovieResponse(i + 1, "Movie", GENRES[i % GENRES.length],
+                    "Studio " + i % 200, i % 101, 1950 + i % 70)));
+        }
+        System.out.printf("Cambio en el hilo que confirma: %.2f µs%n", (System.nanoTime() - start) / 1e3 / updates);
+
+        start = System.nanoTime();
+        index.applyPending();
+        System.out.printf("Aplicación de los cambios pendientes: %d ms%n", (System.nanoTime() - start) / 1_000_000);
+
+        start = System.nanoTime();
+        index.rebuildIfDirty();
+        System.out.printf("Reconstrucción en segundo plano: %d ms%n", (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.movieApp.index;
+
+import com.example.movieApp.dto.response.MovieResponse;
+import com.example.movieApp.entity.Movie;
+import com.example.movieApp.event.MovieChangedEvent;
+import com.example.movieApp.repository.MovieRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class SimilarMoviesIndexTest {
+
+    private static Movie movie(int id, String genre, String studio, int score, int year) {
+        return Movie.builder().id(id).film("Película " + id).genre(genre).studio(studio)
+                .score(score).releaseYear(year).build();
+    }
+
+    private static SimilarMoviesIndex load(List<Movie> catalog, int k) {
+        MovieRepository repository = mock(MovieRepository.class);
+        when(repository.findAll()).thenReturn(catalog);
+        SimilarMoviesIndex index = new SimilarMoviesIndex(repository, true, k);
+        index.load();
+        return index;
+    }
+
+    private static List<Integer> ids(List<MovieResponse> movies) {
+        return movies.stream().map(MovieResponse::getId).toList();
+    }
+
+    /**
+     * Verifica el orden: primero mismo género y estudio, luego mismo género,
+     * luego mismo estudio y por último por cercanía de puntuación y año.
+     */
+    @Test
+    void testRanksByGenreStudioAndProximity() {
+        SimilarMoviesIndex index = load(List.of(
+                movie(1, "Drama", "Pixar", 70, 2010),
+                movie(2, "Comedy", "Disney", 70, 2010),
+                movie(3, "Drama", "Disney", 40, 1990),
+                movie(4, "Drama", "Pixar", 20, 1980),
+                movie(5, "Comedy", "Pixar", 70, 2010),
+                movie(6, "Drama", "Disney", 68, 2009)), 10);
+
+        assertEquals(List.of(4, 6, 3, 5, 2), ids(index.findSimilar(1, 10)));
+        assertEquals(List.of(4, 6), ids(index.findSimilar(1, 2)));
+        assertNull(index.findSimilar(99, 10));
+    }
+
+    /**
+     * Tras una serie de altas, cambios y bajas aplicados de forma incremental
+     * y una reconstrucción, cada lista coincide con el cálculo sobre el
+     * catálogo completo.
+     */
+    @Test
+    void testIncrementalChangesConvergeToFullRanking() {
+        Random random = new Random(42);
+        String[] genres = {"Comedy", "Drama", "Romance", "Animation", "Action"};
+        String[] studios = {"Disney", "Pixar", "Sony", "Fox", "Universal", "Warner Bros", "Independent"};
+        List<Movie> catalog = new ArrayList<>();
+        for (int id = 1; id <= 300; id++) {
+            catalog.add(movie(id, genres[random.nextInt(genres.length)], studios[random.nextInt(studios.length)],
+                    random.nextInt(101), 1950 + random.nextInt(70)));
+        }
+        SimilarMoviesIndex index = load(catalog, 5);
+
+        Map<Integer, MovieResponse> current = new HashMap<>();
+        catalog.forEach(movie -> current.put(movie.getId(), new MovieResponse(movie)));
+        for (int i = 0; i < 200; i++) {
+            int id = 1 + random.nextInt(350);
+            if (random.nextInt(4) == 0) {
+                current.remove(id);
+                index.onMovieChanged(MovieChangedEvent.deleted(id));
+            } else {
+                MovieResponse movie = new MovieResponse(movie(id, genres[random.nextInt(genres.length)],
+                        studios[random.nextInt(studios.length)], random.nextInt(101), 1950 + random.nextInt(70)));
+                current.put(id, movie);
+                index.onMovieChanged(MovieChangedEvent.updated(movie));
+            }
+        }
+        index.rebuildIfDirty();
+
+        for (MovieResponse movie : current.values()) {
+            assertEquals(ids(SimilarMoviesIndex.rank(movie, current.values(), 5)),
+                    ids(index.findSimilar(movie.getId(), 5)), "Película " + movie.getId());
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.example.movieApp.integration;
 
 import com.example.movieApp.dto.request.MovieRequest;
 import com.example.movieApp.dto.response.MovieResponse;
+import com.example.movieApp.index.SimilarMoviesIndex;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,11 +10,16 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@SpringBootTest
+@SpringBootTest(properties = "movies.rate-limit.api-keys=cliente-abusivo,cliente-normal")
 @AutoConfigureMockMvc
 public class MovieIntegrationTest {
 
@@ -23,6 +29,9 @@ public class MovieIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private SimilarMoviesIndex similarMoviesIndex;
+
     /**
      * Verifica que el endpoint POST /api/movies
      * permita crear una nueva película con datos válidos.
@@ -85,6 +94,120 @@ public class MovieIntegrationTest {
                 .andExpect(jsonPath("$.length()").value(3));
     }
 
+    /**
+     * Verifica las representaciones alternativas de GET /api/movies/all/ordered:
+     * con Accept columnar se devuelve un array por campo, con Accept Smile la
+     * respuesta es binaria, y con un Accept genérico se mantiene el JSON de siempre.
+     */
+    @Test
+    void testListMoviesOrderedCompactFormats() throws Exception {
+        mockMvc.perform(get("/api/movies/all/ordered")
+                        .param("total", "3")
+                        .accept("application/vnd.movies.columnar+json"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/vnd.movies.columnar+json"))
+                .andExpect(jsonPath("$.count").value(3))
+                .andExpect(jsonPath("$.film.length()").value(3))
+                .andExpect(jsonPath("$.year.length()").value(3));
+
+        mockMvc.perform(get("/api/movies/all/ordered")
+                        .param("total", "3")
+                        .accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-jackson-smile"));
+
+        mockMvc.perform(get("/api/movies/all/ordered")
+                        .param("total", "3")
+                        .accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].film").exists());
+    }
+
+    /**
+     * Verifica que GET /api/movies/batch devuelva las películas en el orden
+     * pedido con los IDs inexistentes en "missing", y que responda 400 si se
+     * piden más IDs de los permitidos.
+     */
+    @Test
+    void testGetMoviesByIds() throws Exception {
+        int first = createMovie(new MovieRequest("Coco", "Animation", "Pixar", 8, 2017));
+        int second = createMovie(new MovieRequest("Soul", "Animation", "Pixar", 8, 2020));
+
+        mockMvc.perform(get("/api/movies/batch").param("ids", second + ",987654," + first))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.movies.length()").value(2))
+                .andExpect(jsonPath("$.movies[0].film").value("Soul"))
+                .andExpect(jsonPath("$.movies[1].film").value("Coco"))
+                .andExpect(jsonPath("$.missing[0]").value(987654));
+
+        String tooMany = IntStream.rangeClosed(1, 101)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(","));
+        mockMvc.perform(get("/api/movies/batch").param("ids", tooMany))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Verifica que GET /api/movies/{id}/similar ponga primero la película
+     * del mismo género y estudio, incluida una recién creada, y que responda
+     * 404 para un ID inexistente. El índice aplica los cambios en segundo
+     * plano, así que antes se fuerza a aplicar los pendientes.
+     */
+    @Test
+    void testSimilarMovies() throws Exception {
+        int first = createMovie(new MovieRequest("Rango", "Western", "Estudio Similar", 7, 2011));
+        int second = createMovie(new MovieRequest("Django", "Western", "Estudio Similar", 8, 2012));
+        similarMoviesIndex.rebuildIfDirty();
+
+        mockMvc.perform(get("/api/movies/{id}/similar", first).param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].id").value(second));
+
+        mockMvc.perform(get("/api/movies/{id}/similar", 987654))
+                .andExpect(status().isNotFound());
+    }
+
+    private int createMovie(MovieRequest request) throws Exception {
+        String response = mockMvc.perform(post("/api/movies")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(response, MovieResponse.class).getId();
+    }
+
+    /**
+     * Verifica el límite de peticiones por cliente: cada respuesta lleva las
+     * cabeceras RateLimit-*, y al agotar las fichas de una API key se
+     * responde 429 con Retry-After sin afectar a otros clientes.
+     */
+    @Test
+    void testRateLimitPerApiKey() throws Exception {
+        MvcResult last = null;
+        for (int i = 0; i < 1000; i++) {
+            last = mockMvc.perform(get("/api/movies/all/ordered")
+                            .param("total", "1")
+                            .header("X-API-Key", "cliente-abusivo"))
+                    .andExpect(header().exists("RateLimit-Limit"))
+                    .andExpect(header().exists("RateLimit-Remaining"))
+                    .andReturn();
+            if (last.getResponse().getStatus() == 429) {
+                break;
+            }
+        }
+
+        assertEquals(429, last.getResponse().getStatus());
+        assertEquals("0", last.getResponse().getHeader("RateLimit-Remaining"));
+        assertNotNull(last.getResponse().getHeader("Retry-After"));
+
+        mockMvc.perform(get("/api/movies/all/ordered")
+                        .param("total", "1")
+                        .header("X-API-Key", "cliente-normal"))
+                .andExpect(status().isOk());
+    }
+
     /**
      * Verifica el manejo de un ID inválido en GET /api/movies.
      * Solicita una película con un ID que no existe (9999),
@@ -98,4 +221,85 @@ public class MovieIntegrationTest {
                 .andExpect(status().is4xxClientError())
                 .andExpect(jsonPath("$.message").exists());
     }
+
+    /**
+     * Verifica PATCH /api/movies/{id}/score con la escritura diferida
+     * desactivada: se actualiza solo la puntuación y se responde 200 OK
+     * con la película; una puntuación fuera de rango devuelve 400.
+     */
+    @Test
+    void testUpdateMovieScore() throws Exception {
+        MovieRequest request = new MovieRequest("Whiplash", "Drama", "Sony", 8, 2014);
+
+        String postResponse = mockMvc.perform(post("/api/movies")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        int movieId = objectMapper.readValue(postResponse, MovieResponse.class).getId();
+
+        mockMvc.perform(patch("/api/movies/{id}/score", movieId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"score\": 10}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.score").value(10))
+                .andExpect(jsonPath("$.film").value("Whiplash"));
+
+        mockMvc.perform(patch("/api/movies/{id}/score", movieId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"score\": 11}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Verifica el feed de cambios GET /api/movies/changes.
+     * Una petición con waitMs queda en espera (long-poll) y se completa
+     * al confirmarse la creación de una película; después, el borrado
+     * aparece como el siguiente cambio a partir del offset devuelto.
+     */
+    @Test
+    void testChangeFeedReturnsMutationsAfterOffset() throws Exception {
+        long offset = 0;
+        String batch;
+        do {
+            MvcResult page = mockMvc.perform(get("/api/movies/changes").param("after", String.valueOf(offset)).param("limit", "500"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            batch = mockMvc.perform(asyncDispatch(page)).andReturn().getResponse().getContentAsString();
+            offset = objectMapper.readTree(batch).get("nextOffset").asLong();
+        } while (objectMapper.readTree(batch).get("changes").size() > 0);
+
+        MvcResult waiting = mockMvc.perform(get("/api/movies/changes")
+                        .param("after", String.valueOf(offset))
+                        .param("waitMs", "5000"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MovieRequest request = new MovieRequest("Amélie", "Romance", "UGC", 8, 2001);
+        String postResponse = mockMvc.perform(post("/api/movies")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        int movieId = objectMapper.readValue(postResponse, MovieResponse.class).getId();
+
+        String created = mockMvc.perform(asyncDispatch(waiting))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes[0].type").value("CREATED"))
+                .andExpect(jsonPath("$.changes[0].movieId").value(movieId))
+                .andExpect(jsonPath("$.changes[0].movie.film").value("Amélie"))
+                .andReturn().getResponse().getContentAsString();
+        long next = objectMapper.readTree(created).get("nextOffset").asLong();
+
+        mockMvc.perform(delete("/api/movies/{id}", movieId))
+                .andExpect(status().isNoContent());
+
+        MvcResult deleted = mockMvc.perform(get("/api/movies/changes").param("after", String.valueOf(next)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(deleted))
+                .andExpect(jsonPath("$.changes.length()").value(1))
+                .andExpect(jsonPath("$.changes[0].type").value("DELETED"))
+                .andExpect(jsonPath("$.changes[0].movieId").value(movieId));
+    }
 }
@@ -0,0 +1,181 @@
+package com.example.movieApp.loader;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CsvReaderTest {
+
+    private static CsvReader reader(String csv) {
+        return new CsvReader(ByteBuffer.wrap(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Verifica que se lean registros simples separados por LF y CRLF,
+     * recortando los espacios alrededor de los campos sin comillas.
+     */
+    @Test
+    void testPlainFields() {
+        CsvReader reader = reader("1, Inception ,Sci-Fi\r\n2,Up,Animation\n");
+
+        assertTrue(reader.next());
+        assertEquals(3, reader.fieldCount());
+        assertEquals(1, reader.intField(0));
+        assertEquals("Inception", reader.field(1));
+        assertEquals("Sci-Fi", reader.field(2));
+
+        assertTrue(reader.next());
+        assertEquals("Up", reader.field(1));
+        assertFalse(reader.next());
+    }
+
+    /**
+     * Verifica que los campos entre comillas admitan comas, saltos de línea
+     * y comillas escapadas, tal como define RFC 4180.
+     */
+    @Test
+    void testQuotedFields() {
+        CsvReader reader = reader("1,\"Crazy, Stupid, Love\",\"Say \"\"hi\"\"\",\"two\nlines\"\n2,x,y,z");
+
+        assertTrue(reader.next());
+        assertEquals(4, reader.fieldCount());
+        assertEquals("Crazy, Stupid, Love", reader.field(1));
+        assertEquals("Say \"hi\"", reader.field(2));
+        assertEquals("two\nlines", reader.field(3));
+        assertFalse(reader.isMalformed());
+
+        assertTrue(reader.next());
+        assertEquals("z", reader.field(3));
+        assertFalse(reader.next());
+    }
+
+    /**
+     * Comprueba que los campos vacíos se conserven y que un texto después
+     * de la comilla de cierre marque el registro como mal formado.
+     */
+    @Test
+    void testEmptyAndMalformedFields() {
+        CsvReader reader = reader("a,,\n\"b\"c,d\n");
+
+        assertTrue(reader.next());
+        assertEquals(3, reader.fieldCount());
+        assertEquals("", reader.field(1));
+        assertEquals("", reader.field(2));
+
+        assertTrue(reader.next());
+        assertTrue(reader.isMalformed());
+        assertEquals("\"b\"c,d", reader.record());
+    }
+
+    /**
+     * Valida que intField rechace valores no numéricos y desbordamientos
+     * con NumberFormatException, como Integer.parseInt.
+     */
+    @Test
+    void testIntFieldErrors() {
+        CsvReader reader = reader("12a,2147483648,-2147483648,\n");
+
+        assertTrue(reader.next());
+        assertThrows(NumberFormatException.class, () -> reader.intField(0));
+        assertThrows(NumberFormatException.class, () -> reader.intField(1));
+        assertEquals(Integer.MIN_VALUE, reader.intField(2));
+        assertThrows(NumberFormatException.class, () -> reader.intField(3));
+    }
+
+    /**
+     * Verifica que el interner devuelva la misma instancia para valores repetidos.
+     */
+    @Test
+    void testInternedFields() {
+        CsvReader reader = reader("Comedy,Disney\nComedy,Fox\n");
+        ValueInterner interner = new ValueInterner();
+
+        reader.next();
+        String first = reader.field(0, interner);
+        reader.next();
+        String second = reader.field(0, interner);
+
+        assertEquals("Comedy", second);
+        assertSame(first, second);
+        assertEquals(1, interner.size());
+    }
+
+    /**
+     * Comprueba que un archivo mapeado en varios segmentos se corte siempre
+     * en un límite de registro, sin partir campos con saltos de línea entre comillas.
+     */
+    @Test
+    void testMappedSegmentsEndOnRecordBoundaries(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("movies.csv");
+        Files.writeString(file, "1,\"a\nb\",x\n2,c,y\n3,d,z\n");
+
+        List<ByteBuffer> segments = CsvSegments.map(file, 12);
+
+        int records = 0;
+        for (ByteBuffer segment : segments) {
+            CsvReader reader = new CsvReader(segment);
+            while (reader.next()) {
+                assertEquals(3, reader.fieldCount());
+                records++;
+            }
+        }
+        assertTrue(segments.size() > 1);
+        assertEquals(3, records);
+    }
+
+    /**
+     * Verifica que al dividir un buffer en particiones no se corte un registro
+     * con un salto de línea entre comillas y que no se pierdan registros.
+     */
+    @Test
+    void testSplitOnRecordBoundaries() {
+        String csv = "1,\"a\nb\nc\nd\",x\n2,e,y\n3,f,z\n4,g,w\n";
+        ByteBuffer buffer = ByteBuffer.wrap(csv.getBytes(StandardCharsets.UTF_8));
+
+        List<ByteBuffer> ranges = CsvSegments.split(buffer, 3);
+
+        StringBuilder ids = new StringBuilder();
+        for (ByteBuffer range : ranges) {
+            CsvReader reader = new CsvReader(range);
+            while (reader.next()) {
+                assertEquals(3, reader.fieldCount());
+                ids.append(reader.intField(0));
+            }
+        }
+        assertEquals(3, ranges.size());
+        assertEquals("1234", ids.toString());
+    }
+
+    /**
+     * Valida que una comilla dentro de un campo sin comillas (o tras la de
+     * cierre) no se tome como apertura al buscar límites de registro, igual
+     * que la trata CsvReader, y que las comillas escapadas no cambien nada.
+     */
+    @Test
+    void testSplitIgnoresQuotesInsideUnquotedFields() {
+        String csv = "1,5\" Disk,x\n2,\"Say \"\"hi\"\"\",y\n3,e,z\n4,f,w\n5,g,v\n6,h,u\n";
+        ByteBuffer buffer = ByteBuffer.wrap(csv.getBytes(StandardCharsets.UTF_8));
+
+        List<ByteBuffer> ranges = CsvSegments.split(buffer, 3);
+
+        StringBuilder ids = new StringBuilder();
+        for (ByteBuffer range : ranges) {
+            CsvReader reader = new CsvReader(range);
+            while (reader.next()) {
+                assertEquals(3, reader.fieldCount());
+                ids.append(reader.intField(0));
+            }
+        }
+        assertEquals(3, ranges.size());
+        assertEquals("123456", ids.toString());
+        assertEquals(csv.indexOf("\n2,") + 1, CsvSegments.lastRecordEnd(buffer, 0, csv.indexOf("\n2,") + 2));
+    }
+}
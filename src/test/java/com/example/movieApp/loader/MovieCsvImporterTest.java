@@ -0,0 +1,251 @@
+package com.example.movieApp.loader;
+
+import com.example.movieApp.changefeed.MovieChangeOutbox;
+import com.example.movieApp.cluster.ClusterNode;
+import com.example.movieApp.dictionary.MovieDictionaries;
+import com.example.movieApp.dto.response.MovieResponse;
+import com.example.movieApp.event.MovieChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({MovieCsvImporter.class, MovieDictionaries.class, MovieChangeOutbox.class, ClusterNode.class,
+        MovieCsvImporterTest.PauseConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@RecordApplicationEvents
+public class MovieCsvImporterTest {
+
+    private static final String HEADER = "ID,Film,Genre,Studio,Score,Year\n";
+
+    @Autowired
+    private MovieCsvImporter importer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Autowired
+    private ImportPause importPause;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Detiene la importación en su segundo evento (con el primero ya escrito
+     * en el outbox) hasta que el test la libera.
+     */
+    static class ImportPause {
+
+        private final AtomicInteger seen = new AtomicInteger(-1);
+        private final CountDownLatch paused = new CountDownLatch(1);
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        void arm() {
+            seen.set(0);
+        }
+
+        @EventListener
+        public void onMovieChanged(MovieChangedEvent event) throws InterruptedException {
+            if (seen.get() >= 0 && seen.incrementAndGet() == 2) {
+                paused.countDown();
+                released.await(10, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class PauseConfig {
+
+        @Bean
+        ImportPause importPause() {
+            return new ImportPause();
+        }
+    }
+
+    private static List<ByteBuffer> csv(String rows) {
+        return List.of(ByteBuffer.wrap((HEADER + rows).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Verifica que la importación incremental aplique solo los cambios:
+     * inserta filas nuevas, actualiza las modificadas, elimina las que ya no
+     * están en el CSV y no toca las películas creadas por la API.
+     * Una segunda ejecución con el mismo CSV no debe escribir nada.
+     */
+    @Test
+    void testDeltaImportAppliesOnlyChanges() throws Exception {
+        jdbcTemplate.update("DELETE FROM movie");
+        jdbcTemplate.update("INSERT INTO movie (film, score, release_year) VALUES ('API', 5, 2020)");
+
+        ImportSummary full = importer.importAll(csv("1,Up,Animation,Pixar,98,2009\n2,Cars,Animation,Pixar,74,2006\n3,Heat,Drama,Fox,87,1995\n"), true);
+        assertEquals(3, full.getInserted());
+
+        ImportSummary delta = importer.importDelta(csv("1,Up,Animation,Pixar,98,2009\n2,Cars,Animation,Pixar,75,2006\n4,\"Crazy, Stupid, Love\",Comedy,Warner Bros,78,2011\n"), true);
+
+        assertEquals(1, delta.getInserted());
+        assertEquals(1, delta.getUpdated());
+        assertEquals(1, delta.getDeleted());
+        assertEquals(1, delta.getUnchanged());
+        assertEquals(4, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM movie", Integer.class));
+        assertEquals(75, jdbcTemplate.queryForObject("SELECT score FROM movie WHERE source_id = 2", Integer.class));
+        assertEquals("Crazy, Stupid, Love", jdbcTemplate.queryForObject("SELECT film FROM movie WHERE source_id = 4", String.class));
+        assertEquals("Comedy", jdbcTemplate.queryForObject(
+                "SELECT g.name FROM movie m JOIN genre g ON g.id = m.genre_id WHERE m.source_id = 4", String.class));
+
+        ImportSummary again = importer.importDelta(csv("1,Up,Animation,Pixar,98,2009\n2,Cars,Animation,Pixar,75,2006\n4,\"Crazy, Stupid, Love\",Comedy,Warner Bros,78,2011\n"), true);
+
+        assertEquals(0, again.getLoaded());
+        assertEquals(0, again.getDeleted());
+        assertEquals(3, again.getUnchanged());
+    }
+
+    /**
+     * Valida que en la importación incremental una fila inválida de una
+     * película existente (puntuación no numérica, pocos campos) la conserve
+     * sin cambios, y que una fila sin ID legible impida eliminar películas
+     * ausentes en esa ejecución.
+     */
+    @Test
+    void testDeltaImportNeverDeletesMoviesWithInvalidRows() throws Exception {
+        jdbcTemplate.update("DELETE FROM movie");
+        importer.importAll(csv("1,Up,Animation,Pixar,98,2009\n2,Cars,Animation,Pixar,74,2006\n3,Heat,Drama,Fox,87,1995\n"), true);
+
+        ImportSummary delta = importer.importDelta(csv("1,Up,Animation,Pixar,noventa,2009\n2,Cars\n3,Heat,Drama,Fox,87,1995\n"), true);
+
+        assertEquals(2, delta.getRejected());
+        assertEquals(0, delta.getDeleted());
+        assertEquals(98, jdbcTemplate.queryForObject("SELECT score FROM movie WHERE source_id = 1", Integer.class));
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM movie", Integer.class));
+
+        ImportSummary unreadable = importer.importDelta(csv("x1,Up,Animation,Pixar,98,2009\n3,Heat,Drama,Fox,87,1995\n"), true);
+
+        assertEquals(1, unreadable.getRejected());
+        assertEquals(0, unreadable.getDeleted());
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM movie", Integer.class));
+    }
+
+    /**
+     * Comprueba que dos importaciones incrementales simultáneas (dos nodos que
+     * arrancan a la vez) no dupliquen el catálogo: una inserta y la otra,
+     * tras esperar el cerrojo, solo encuentra filas sin cambios.
+     */
+    @Test
+    void testConcurrentDeltaImportsDoNotDuplicateMovies() throws Exception {
+        jdbcTemplate.update("DELETE FROM movie");
+        String rows = "1,Up,Animation,Pixar,98,2009\n2,Cars,Animation,Pixar,74,2006\n3,Heat,Drama,Fox,87,1995\n";
+        Callable<ImportSummary> task = () -> importer.importDelta(csv(rows), true);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<ImportSummary> first = executor.submit(task);
+            Future<ImportSummary> second = executor.submit(task);
+            ImportSummary a = first.get();
+            ImportSummary b = second.get();
+
+            assertEquals(3, a.getInserted() + b.getInserted());
+            assertEquals(3, a.getUnchanged() + b.getUnchanged());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM movie", Integer.class));
+    }
+
+    /**
+     * Verifica que la importación incremental publique un evento por cada
+     * alta, modificación y baja, con el ID de la película en la base, para
+     * que el outbox lo reparta al resto de nodos. Las filas sin cambios no
+     * publican nada.
+     */
+    @Test
+    void testDeltaImportPublishesChangeEvents() throws Exception {
+        jdbcTemplate.update("DELETE FROM movie");
+        importer.importAll(csv("1,Up,Animation,Pixar,98,2009\n2,Cars,Animation,Pixar,74,2006\n3,Heat,Drama,Fox,87,1995\n"), true);
+        int carsId = jdbcTemplate.queryForObject("SELECT id FROM movie WHERE source_id = 2", Integer.class);
+        int heatId = jdbcTemplate.queryForObject("SELECT id FROM movie WHERE source_id = 3", Integer.class);
+        events.clear();
+
+        importer.importDelta(csv("1,Up,Animation,Pixar,98,2009\n2,Cars,Animation,Pixar,75,2006\n4,Rocky,Drama,United Artists,93,1976\n"), true);
+
+        List<MovieChangedEvent> changes = events.stream(MovieChangedEvent.class).toList();
+        assertEquals(3, changes.size());
+        MovieChangedEvent updated = changes.stream()
+                .filter(e -> e.getType() == MovieChangedEvent.ChangeType.UPDATED).findFirst().orElseThrow();
+        assertEquals(carsId, updated.getMovieId());
+        assertEquals(75, updated.getMovie().getScore());
+        assertEquals("Animation", updated.getMovie().getGenre());
+        MovieChangedEvent created = changes.stream()
+                .filter(e -> e.getType() == MovieChangedEvent.ChangeType.CREATED).findFirst().orElseThrow();
+        assertEquals("Rocky", created.getMovie().getFilm());
+        assertEquals("United Artists", created.getMovie().getStudio());
+        assertTrue(changes.stream().anyMatch(e -> e.getType() == MovieChangedEvent.ChangeType.DELETED
+                && e.getMovieId() == heatId));
+    }
+
+    /**
+     * Comprueba que una escritura como las de la API (película y fila del
+     * outbox en una transacción) termine mientras una importación incremental
+     * está a medias publicando sus cambios, en lugar de esperar a que acabe.
+     */
+    @Test
+    void testApiWriteCompletesDuringDeltaImport() throws Exception {
+        jdbcTemplate.update("DELETE FROM movie");
+        importer.importAll(csv("1,Up,Animation,Pixar,98,2009\n2,Cars,Animation,Pixar,74,2006\n3,Heat,Drama,Fox,87,1995\n"), true);
+        importPause.arm();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<ImportSummary> delta = executor.submit(() -> importer.importDelta(
+                    csv("1,Up,Animation,Pixar,99,2009\n2,Cars,Animation,Pixar,75,2006\n3,Heat,Drama,Fox,88,1995\n"), true));
+            assertTrue(importPause.paused.await(10, TimeUnit.SECONDS), "La importación no llegó a publicar cambios");
+
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            Future<?> apiWrite = executor.submit(() -> transaction.executeWithoutResult(status -> {
+                jdbcTemplate.update("INSERT INTO movie (film, score, release_year) VALUES ('Creada por la API', 7, 2024)");
+                int id = jdbcTemplate.queryForObject("SELECT id FROM movie WHERE film = 'Creada por la API'", Integer.class);
+                eventPublisher.publishEvent(MovieChangedEvent.created(new MovieResponse(id, "Creada por la API", null, null, 7, 2024)));
+            }));
+            try {
+                apiWrite.get(5, TimeUnit.SECONDS);
+            } finally {
+                importPause.released.countDown();
+            }
+
+            assertEquals(3, delta.get(10, TimeUnit.SECONDS).getUpdated());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM movie_change WHERE film = 'Creada por la API'", Integer.class));
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.movieApp.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.ConsoleAppender;
+import com.example.movieApp.controller.MovieController;
+import com.example.movieApp.repository.MovieRepository;
+import com.example.movieApp.service.MovieServiceImpl;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Compara el throughput de GET /api/movies/{id} con el logging anterior
+ * (dos líneas INFO por petición escritas de forma síncrona en consola) y con
+ * el actual (debug por petición, appender asíncrono y log de acceso
+ * muestreado). Se ejecuta con {@code mvn test -Pbenchmark}; los números son
+ * orientativos (sin JMH).
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "movies.rate-limit.enabled=false")
+@AutoConfigureMockMvc
+public class LoggingBenchmarkTest {
+
+    private static final int WARMUP = 5_000;
+    private static final int REQUESTS = 20_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Test
+    void compareLoggingConfigurations() throws Exception {
+        int id = movieRepository.findAll(PageRequest.of(0, 1)).getContent().get(0).getId();
+
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        Logger controller = context.getLogger(MovieController.class);
+        Logger service = context.getLogger(MovieServiceImpl.class);
+        Appender<ILoggingEvent> async = root.getAppender("ASYNC");
+        assertNotNull(async, "logback-spring.xml debería definir el appender ASYNC");
+
+        ConsoleAppender<ILoggingEvent> sync = syncConsole(context);
+        root.detachAppender(async);
+        root.addAppender(sync);
+        controller.setLevel(Level.INFO);
+        service.setLevel(Level.INFO);
+        double before;
+        try {
+            before = requestsPerSecond(id);
+        } finally {
+            controller.setLevel(null);
+            service.setLevel(null);
+            root.detachAppender(sync);
+            root.addAppender(async);
+            sync.stop();
+        }
+
+        double after = requestsPerSecond(id);
+
+        System.out.printf("GET /api/movies/{id}: logging síncrono INFO %.0f peticiones/s, asíncrono muestreado %.0f peticiones/s (x%.1f)%n",
+                before, after, after / before);
+    }
+
+    private double requestsPerSecond(int id) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            mockMvc.perform(get("/api/movies/{id}", id));
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            assertEquals(200, mockMvc.perform(get("/api/movies/{id}", id)).andReturn().getResponse().getStatus());
+        }
+        return REQUESTS / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private static ConsoleAppender<ILoggingEvent> syncConsole(LoggerContext context) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p %pid --- [%t] %-40.40logger{39} : %m%n");
+        encoder.start();
+        ConsoleAppender<ILoggingEvent> appender = new ConsoleAppender<>();
+        appender.setContext(context);
+        appender.setName("SYNC_CONSOLE");
+        appender.setEncoder(encoder);
+        appender.start();
+        return appender;
+    }
+}
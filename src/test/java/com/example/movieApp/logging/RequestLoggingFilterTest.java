@@ -0,0 +1,58 @@
+package com.example.movieApp.logging;
+
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestLoggingFilterTest {
+
+    /**
+     * Verifica que durante la petición el MDC tenga el requestId recibido en
+     * X-Request-Id, que se devuelva en la respuesta y que el MDC quede limpio
+     * al terminar.
+     */
+    @Test
+    void testRequestIdIsPropagatedToMdcAndResponse() throws Exception {
+        RequestLoggingFilter filter = new RequestLoggingFilter(new RequestLoggingProperties());
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/movies/7");
+        request.addHeader("X-Request-Id", "abc123");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Map<String, String> seen = new HashMap<>();
+
+        filter.doFilter(request, response, new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest req, ServletResponse res) {
+                seen.putAll(MDC.getCopyOfContextMap());
+            }
+        });
+
+        assertEquals("abc123", seen.get("requestId"));
+        assertEquals("GET", seen.get("method"));
+        assertEquals("/api/movies/7", seen.get("path"));
+        assertEquals("abc123", response.getHeader("X-Request-Id"));
+        assertNull(MDC.get("requestId"));
+    }
+
+    /**
+     * Valida que sin cabecera X-Request-Id se genere un identificador nuevo.
+     */
+    @Test
+    void testRequestIdIsGeneratedWhenMissing() throws Exception {
+        RequestLoggingFilter filter = new RequestLoggingFilter(new RequestLoggingProperties());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/movies/all/ordered"), response, new MockFilterChain());
+
+        assertNotNull(response.getHeader("X-Request-Id"));
+        assertFalse(response.getHeader("X-Request-Id").isBlank());
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.movieApp.profiling;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {"movies.profiling.enabled=true", "movies.profiling.token=" + ProfilingIntegrationTest.TOKEN})
+@AutoConfigureMockMvc
+public class ProfilingIntegrationTest {
+
+    static final String TOKEN = "token-de-perfilado";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    /**
+     * Verifica que una petición con X-Profile y el token devuelva Server-Timing con las
+     * sentencias SQL y entidades cargadas por Hibernate sin alterar el cuerpo,
+     * que quede en /actuator/profiling y que sin la cabecera no se perfile.
+     */
+    @Test
+    void testProfiledRequestReportsServerTimingAndIsListed() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/movies/all/ordered")
+                        .param("total", "5")
+                        .header("X-Profile", TOKEN))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5))
+                .andExpect(header().exists(ProfilingFilter.SERVER_TIMING_HEADER))
+                .andReturn();
+
+        String serverTiming = result.getResponse().getHeader(ProfilingFilter.SERVER_TIMING_HEADER);
+        assertTrue(serverTiming.startsWith("total;dur="), serverTiming);
+        assertTrue(number(serverTiming, "(\\d+) sentencias SQL") >= 1, serverTiming);
+        assertEquals(5, number(serverTiming, "(\\d+) entidades"), serverTiming);
+        assertTrue(serverTiming.contains("serialization;dur="), serverTiming);
+
+        mockMvc.perform(get("/actuator/profiling"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.endpoint == 'GET /api/movies/all/ordered')].entitiesLoaded").value(5));
+
+        mockMvc.perform(get("/api/movies/all/ordered").param("total", "5"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(ProfilingFilter.SERVER_TIMING_HEADER));
+    }
+
+    /**
+     * Comprueba que la cabecera X-Profile sin el token configurado no active
+     * el perfilado y que el endpoint de actuator no permita borrar la lista.
+     */
+    @Test
+    void testProfilingRequiresTokenAndEndpointIsReadOnly() throws Exception {
+        mockMvc.perform(get("/api/movies/all/ordered").param("total", "5").header("X-Profile", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(ProfilingFilter.SERVER_TIMING_HEADER));
+
+        mockMvc.perform(delete("/actuator/profiling"))
+                .andExpect(status().is4xxClientError());
+        mockMvc.perform(get("/actuator/profiling"))
+                .andExpect(status().isOk());
+    }
+
+    private static long number(String serverTiming, String regex) {
+        Matcher matcher = Pattern.compile(regex).matcher(serverTiming);
+        assertTrue(matcher.find(), serverTiming);
+        return Long.parseLong(matcher.group(1));
+    }
+}
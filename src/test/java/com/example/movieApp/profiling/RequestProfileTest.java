@@ -0,0 +1,27 @@
+package com.example.movieApp.profiling;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestProfileTest {
+
+    /**
+     * Verifica que el tiempo posterior al fin de la escritura del cuerpo
+     * (afterCompletion, log de acceso) cuente como "other" y no como
+     * serialización.
+     */
+    @Test
+    void testWorkAfterBodyWriteCountsAsOther() throws Exception {
+        RequestProfile profile = new RequestProfile();
+        profile.handlerStarted();
+        profile.serializationStarted();
+        profile.serializationEnded();
+        Thread.sleep(50);
+
+        ProfiledRequest result = profile.finish("GET /api/movies/{id}", 200, null, System.nanoTime());
+
+        assertTrue(result.serializationMs() < 50, result.serverTiming());
+        assertTrue(result.otherMs() >= 50, result.serverTiming());
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.movieApp.ratelimit;
+
+import com.example.movieApp.exception.listexception.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimitInterceptorTest {
+
+    /**
+     * Verifica que una API key no configurada no dé un bucket propio: con una
+     * clave distinta en cada petición se sigue limitando por IP, mientras que
+     * una clave configurada tiene su propio límite.
+     */
+    @Test
+    void testUnknownApiKeysAreLimitedByIp() {
+        RateLimiter limiter = new RateLimiter(true, 1, 2, 100);
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(limiter, "X-API-Key", Set.of("cliente-conocido"));
+
+        assertTrue(interceptor.preHandle(request(UUID.randomUUID().toString()), new MockHttpServletResponse(), null));
+        assertTrue(interceptor.preHandle(request(UUID.randomUUID().toString()), new MockHttpServletResponse(), null));
+        assertThrows(TooManyRequestsException.class,
+                () -> interceptor.preHandle(request(UUID.randomUUID().toString()), new MockHttpServletResponse(), null));
+
+        assertTrue(interceptor.preHandle(request("cliente-conocido"), new MockHttpServletResponse(), null));
+    }
+
+    private static MockHttpServletRequest request(String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/movies/1");
+        request.setRemoteAddr("203.0.113.7");
+        request.addHeader("X-API-Key", apiKey);
+        return request;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.movieApp.ratelimit;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mide el coste de {@link RateLimiter#acquire} en el camino habitual (cliente
+ * ya conocido) con uno y con varios hilos, y con el mapa de clientes lleno. Se ejecuta con
+ * {@code mvn test -Pbenchmark}; los números son orientativos (sin JMH).
+ */
+@Tag("benchmark")
+public class RateLimiterBenchmarkTest {
+
+    private static final int CLIENTS = 10_000;
+    private static final int ITERATIONS = 5_000_000;
+
+    @Test
+    void measureAcquireCost() throws Exception {
+        RateLimiter limiter = new RateLimiter(true, 1_000_000_000, 1_000_000, CLIENTS * 2);
+        String[] clients = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            clients[i] = "ip:10.0." + (i >> 8) + "." + (i & 0xff);
+            limiter.acquire(clients[i]);
+        }
+
+        run(limiter, clients, 1);
+        double singleThread = run(limiter, clients, 1);
+        int threads = Runtime.getRuntime().availableProcessors();
+        double multiThread = run(limiter, clients, threads);
+
+        System.out.printf("RateLimiter.acquire: %.0f ns/op (1 hilo), %.0f ns/op (%d hilos)%n",
+                singleThread, multiThread, threads);
+        assertTrue(singleThread < 1_000, "acquire debería costar menos de 1 µs");
+    }
+
+    @Test
+    void measureAcquireCostWithFullClientMap() throws Exception {
+        int maxClients = 100_000;
+        RateLimiter limiter = new RateLimiter(true, 1, 1_000_000, maxClients);
+        for (int i = 0; i < maxClients; i++) {
+            limiter.acquire("ip:10." + (i >> 16) + "." + ((i >> 8) & 0xff) + "." + (i & 0xff));
+        }
+        assertEquals(maxClients, limiter.clientCount());
+        String[] newcomers = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            newcomers[i] = "ip:172.16." + (i >> 8) + "." + (i & 0xff);
+        }
+
+        run(limiter, newcomers, 1);
+        double singleThread = run(limiter, newcomers, 1);
+
+        System.out.printf("RateLimiter.acquire con el mapa lleno (%d clientes): %.0f ns/op%n",
+                maxClients, singleThread);
+        assertEquals(maxClients, limiter.clientCount());
+        assertTrue(singleThread < 1_000, "un cliente nuevo con el mapa lleno no debería recorrer el mapa");
+    }
+
+    private static double run(RateLimiter limiter, String[] clients, int threads) throws Exception {
+        Thread[] workers = new Thread[threads];
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            int offset = t * 7919;
+            workers[t] = new Thread(() -> {
+                int allowed = 0;
+                for (int i = 0; i < ITERATIONS; i++) {
+                    if (limiter.acquire(clients[(i + offset) % CLIENTS]).allowed()) {
+                        allowed++;
+                    }
+                }
+                assertTrue(allowed > 0);
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return (double) (System.nanoTime() - start) / ITERATIONS;
+    }
+}
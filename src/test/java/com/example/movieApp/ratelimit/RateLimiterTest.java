@@ -0,0 +1,66 @@
+package com.example.movieApp.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+
+    /**
+     * Verifica que un cliente pueda consumir la ráfaga completa de golpe, que
+     * la siguiente petición se rechace indicando cuándo reintentar, y que
+     * pasado ese tiempo vuelva a haber una ficha.
+     */
+    @Test
+    void testBurstThenRejectThenRefill() {
+        RateLimiter limiter = new RateLimiter(true, 10, 5, 100, now::get);
+
+        for (int i = 4; i >= 0; i--) {
+            RateLimiter.Decision decision = limiter.acquire("ip:1");
+            assertTrue(decision.allowed());
+            assertEquals(i, decision.remaining());
+        }
+
+        RateLimiter.Decision rejected = limiter.acquire("ip:1");
+        assertFalse(rejected.allowed());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), rejected.retryAfterNanos());
+        assertEquals(1, rejected.retryAfterSeconds());
+
+        assertTrue(limiter.acquire("ip:2").allowed());
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(limiter.acquire("ip:1").allowed());
+        assertFalse(limiter.acquire("ip:1").allowed());
+    }
+
+    /**
+     * Valida que el mapa de clientes no pase del máximo: mientras está lleno,
+     * los nuevos comparten un bucket común, y la limpieza periódica elimina
+     * los clientes con el bucket recargado para hacer sitio.
+     */
+    @Test
+    void testClientMapIsBoundedAndEvictsIdleClients() {
+        RateLimiter limiter = new RateLimiter(true, 10, 2, 2, now::get);
+
+        limiter.acquire("ip:1");
+        limiter.acquire("ip:2");
+        assertTrue(limiter.acquire("ip:3").allowed());
+        assertTrue(limiter.acquire("ip:4").allowed());
+        assertFalse(limiter.acquire("ip:5").allowed());
+        assertEquals(2, limiter.clientCount());
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertTrue(limiter.acquire("ip:5").allowed());
+        assertEquals(2, limiter.clientCount());
+
+        limiter.evictIdle();
+        assertEquals(0, limiter.clientCount());
+        assertTrue(limiter.acquire("ip:3").allowed());
+        assertEquals(1, limiter.clientCount());
+    }
+}
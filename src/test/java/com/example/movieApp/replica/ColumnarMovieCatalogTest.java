@@ -0,0 +1,90 @@
+package com.example.movieApp.replica;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ColumnarMovieCatalogTest {
+
+    private static List<String> titles(ColumnarMovieCatalog catalog, boolean descending) {
+        List<String> titles = new ArrayList<>();
+        for (int rank = 0; rank < catalog.size(); rank++) {
+            titles.add(catalog.film(catalog.slotAt(rank, descending)));
+        }
+        return titles;
+    }
+
+    /**
+     * Verifica que las películas insertadas se puedan buscar por ID y que el
+     * índice ordenado devuelva los títulos en orden ascendente y descendente.
+     */
+    @Test
+    void testUpsertAndOrder() {
+        ColumnarMovieCatalog catalog = new ColumnarMovieCatalog(true);
+        catalog.upsert(3, "Up", 1, 2, 98, 2009);
+        catalog.upsert(1, "Cars", 1, 2, 74, 2006);
+        catalog.upsert(7, "Heat", 3, 4, null, 1995);
+
+        int slot = catalog.slotOf(7);
+        assertEquals(7, catalog.id(slot));
+        assertEquals("Heat", catalog.film(slot));
+        assertNull(catalog.score(slot));
+        assertEquals(1995, catalog.year(slot));
+        assertEquals(-1, catalog.slotOf(2));
+
+        assertEquals(List.of("Cars", "Heat", "Up"), titles(catalog, false));
+        assertEquals(List.of("Up", "Heat", "Cars"), titles(catalog, true));
+    }
+
+    /**
+     * Comprueba que actualizar el título recoloque la película en el índice
+     * ordenado y que eliminar una película mantenga consistentes el resto.
+     */
+    @Test
+    void testUpdateAndRemove() {
+        ColumnarMovieCatalog catalog = new ColumnarMovieCatalog(false);
+        catalog.upsert(1, "Amélie", 1, 1, 80, 2001);
+        catalog.upsert(2, "Brave", 2, 2, 70, 2012);
+        catalog.upsert(3, "Coco", 2, 3, 90, 2017);
+
+        catalog.upsert(1, "Zootopia", 2, 1, 85, 2016);
+        assertEquals(List.of("Brave", "Coco", "Zootopia"), titles(catalog, false));
+        assertEquals(85, catalog.score(catalog.slotOf(1)));
+
+        assertTrue(catalog.remove(2));
+        assertFalse(catalog.remove(2));
+        assertEquals(2, catalog.size());
+        assertEquals(List.of("Coco", "Zootopia"), titles(catalog, false));
+        assertEquals("Zootopia", catalog.film(catalog.slotOf(1)));
+        assertEquals("Coco", catalog.film(catalog.slotOf(3)));
+    }
+
+    /**
+     * Verifica que muchas escrituras sobre el mismo ID no hagan crecer el buffer
+     * de títulos sin límite: los huecos se compactan.
+     */
+    @Test
+    void testTitleBufferIsCompacted() {
+        ColumnarMovieCatalog catalog = new ColumnarMovieCatalog(true);
+        for (int i = 0; i < 100; i++) {
+            catalog.upsert(i, "Movie " + i, 1, 1, i % 10, 2000);
+        }
+        for (int round = 0; round < 200; round++) {
+            for (int i = 0; i < 100; i++) {
+                catalog.upsert(i, "Movie " + i + " (" + round + ") with a much longer title", 1, 1, 5, 2000);
+            }
+            catalog.remove(round % 100);
+            catalog.upsert(round % 100, "Again " + round, 1, 1, 5, 2000);
+        }
+
+        assertEquals(100, catalog.size());
+        assertTrue(catalog.estimatedBytes() < 64 * 1024 * 4);
+        List<String> sorted = titles(catalog, false);
+        List<String> expected = new ArrayList<>(sorted);
+        expected.sort(null);
+        assertEquals(expected, sorted);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.movieApp.replica;
+
+import com.example.movieApp.dto.response.MovieResponse;
+import com.example.movieApp.entity.Movie;
+import com.example.movieApp.loader.MovieCsvImporter;
+import com.example.movieApp.repository.MovieRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara memoria por película y latencia de la réplica columnar frente al
+ * camino JPA. Se ejecuta con {@code mvn test -Pbenchmark}; los números se
+ * imprimen por consola y son orientativos (sin JMH).
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "movies.replica.enabled=true")
+public class MovieCatalogReplicaBenchmarkTest {
+
+    private static final int MOVIES = 50_000;
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 200_000;
+
+    @Autowired
+    private MovieCatalogReplica replica;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private MovieCsvImporter importer;
+
+    @Test
+    void compareReplicaWithJpa() throws Exception {
+        StringBuilder csv = new StringBuilder("ID,Film,Genre,Studio,Score,Year\n");
+        String[] genres = {"Comedy", "Drama", "Romance", "Animation", "Action"};
+        for (int i = 0; i < MOVIES; i++) {
+            csv.append(100_000 + i).append(",Movie title number ").append(i).append(',')
+                    .append(genres[i % genres.length]).append(",Studio ").append(i % 40).append(',')
+                    .append(i % 100).append(',').append(1950 + i % 70).append('\n');
+        }
+        importer.importAll(List.of(ByteBuffer.wrap(csv.toString().getBytes(StandardCharsets.UTF_8))), true);
+        replica.load();
+
+        int total = replica.size();
+        assertTrue(total >= MOVIES);
+
+        long replicaBytes = replica.estimatedBytes();
+        long jpaBytes = retainedHeap(() -> movieRepository.findAll());
+        System.out.printf("Memoria: réplica %d bytes/película, entidades JPA ~%d bytes/película (%d películas)%n",
+                replicaBytes / total, jpaBytes / total, total);
+
+        List<Integer> ids = movieRepository.findAll(PageRequest.of(0, 1000)).map(Movie::getId).getContent();
+        IntFunction<MovieResponse> jpaById = i -> new MovieResponse(movieRepository.findById(ids.get(i % ids.size())).orElseThrow());
+        IntFunction<MovieResponse> replicaById = i -> replica.findById(ids.get(i % ids.size()));
+        report("getMovieById", jpaById, replicaById, ITERATIONS / 20, ITERATIONS);
+
+        PageRequest page = PageRequest.of(0, 100, Sort.by("film"));
+        IntFunction<Object> jpaOrdered = i -> movieRepository.findAll(page).map(MovieResponse::new).getContent();
+        IntFunction<Object> replicaOrdered = i -> replica.findOrdered(100, false);
+        report("getMoviesOrdered(100)", jpaOrdered, replicaOrdered, 500, ITERATIONS / 20);
+    }
+
+    private static void report(String name, IntFunction<?> jpa, IntFunction<?> replica, int jpaIterations, int replicaIterations) {
+        double jpaNanos = nanosPerOp(jpa, jpaIterations);
+        double replicaNanos = nanosPerOp(replica, replicaIterations);
+        System.out.printf("%s: JPA %.1f µs/op, réplica %.2f µs/op (x%.0f)%n",
+                name, jpaNanos / 1000, replicaNanos / 1000, jpaNanos / replicaNanos);
+    }
+
+    private static double nanosPerOp(IntFunction<?> operation, int iterations) {
+        Object sink = null;
+        for (int i = 0; i < Math.min(WARMUP, iterations); i++) {
+            sink = operation.apply(i);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink = operation.apply(i);
+        }
+        assertNotNull(sink);
+        return (double) (System.nanoTime() - start) / iterations;
+    }
+
+    private static long retainedHeap(java.util.function.Supplier<Object> allocation) {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long before = runtime.totalMemory() - runtime.freeMemory();
+        Object retained = allocation.get();
+        System.gc();
+        long after = runtime.totalMemory() - runtime.freeMemory();
+        assertNotNull(retained);
+        return after - before;
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.movieApp.routing;
+
+import com.example.movieApp.service.interfaces.MovieService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Enrutado lectura/escritura con dos bases H2: el primario y una réplica que
+ * el test "replica" copiando el primario con {@code SCRIPT}.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=5000",
+        "movies.datasource.routing.enabled=true",
+        "movies.datasource.routing.replicas[0].url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+        "movies.datasource.routing.replicas[0].username=sa",
+        "movies.datasource.routing.max-lag-ms=0",
+        "movies.datasource.routing.lag-check-interval-ms=3600000"
+})
+public class ReadWriteRoutingTest {
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+
+    @Autowired
+    private ReadWriteRoutingDataSource routing;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    /**
+     * Las lecturas van a la réplica solo mientras está al día, y las
+     * escrituras (y lo que se lee dentro de ellas) siempre al primario.
+     */
+    @Test
+    void testReadsUseReplicaOnlyWhileInSync() {
+        JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+        ReadWriteRoutingDataSource.Replica replica = routing.getReplicas().get(0);
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica.dataSource());
+        int id = primary.queryForObject("SELECT MIN(id) FROM movie", Integer.class);
+        String primaryFilm = primary.queryForObject("SELECT film FROM movie WHERE id = ?", String.class, id);
+
+        // La réplica aún no tiene el esquema: atrasada, se lee del primario.
+        lagMonitor.check();
+        assertFalse(replica.isInSync());
+        assertEquals(primaryFilm, movieService.getMovieById(id).getFilm());
+
+        for (String statement : primary.queryForList("SCRIPT", String.class)) {
+            replicaJdbc.execute(statement);
+        }
+        replicaJdbc.update("UPDATE movie SET film = ? WHERE id = ?", "Copia en réplica", id);
+        lagMonitor.check();
+        assertTrue(replica.isInSync());
+        assertEquals("Copia en réplica", movieService.getMovieById(id).getFilm());
+
+        assertEquals(primaryFilm, movieService.updateMovieScore(id, 3).getFilm());
+
+        // El cambio deja a la réplica por detrás del outbox del primario.
+        lagMonitor.check();
+        assertFalse(replica.isInSync());
+        assertEquals(primaryFilm, movieService.getMovieById(id).getFilm());
+    }
+
+    /**
+     * Al arrancar, antes de que pase la primera ventana de max-lag-ms, una
+     * réplica sin los cambios del outbox del primario no cuenta como al día.
+     */
+    @Test
+    void testReplicaWithoutBaselineIsLaggingUntilItCatchesUp() {
+        JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+        int id = primary.queryForObject("SELECT MIN(id) FROM movie", Integer.class);
+        movieService.updateMovieScore(id, 4);
+        long primarySeq = primary.queryForObject("SELECT MAX(seq) FROM movie_change", Long.class);
+
+        HikariDataSource replicaDataSource = new HikariDataSource();
+        replicaDataSource.setJdbcUrl("jdbc:h2:mem:routing-lag-replica;DB_CLOSE_DELAY=-1");
+        replicaDataSource.setUsername("sa");
+        try (replicaDataSource) {
+            JdbcTemplate replicaJdbc = new JdbcTemplate(replicaDataSource);
+            replicaJdbc.execute("CREATE TABLE movie_change (seq BIGINT)");
+            ReadWriteRoutingDataSource.Replica replica = new ReadWriteRoutingDataSource.Replica("lag", replicaDataSource);
+            ReplicaLagMonitor monitor = new ReplicaLagMonitor(primaryDataSource,
+                    new ReadWriteRoutingDataSource(primaryDataSource, List.of(replica), ReplicaSelection.ROUND_ROBIN),
+                    3_600_000);
+
+            monitor.check();
+            assertFalse(replica.isInSync());
+
+            replicaJdbc.update("INSERT INTO movie_change (seq) VALUES (?)", primarySeq);
+            monitor.check();
+            assertTrue(replica.isInSync());
+        }
+    }
+
+    /**
+     * Valida que la selección salte las réplicas atrasadas y devuelva null
+     * (primario) cuando ninguna está al día.
+     */
+    @Test
+    void testSelectionSkipsLaggingReplicas() {
+        ReadWriteRoutingDataSource.Replica first = new ReadWriteRoutingDataSource.Replica("a", new HikariDataSource());
+        ReadWriteRoutingDataSource.Replica second = new ReadWriteRoutingDataSource.Replica("b", new HikariDataSource());
+        for (ReplicaSelection selection : ReplicaSelection.values()) {
+            ReadWriteRoutingDataSource dataSource =
+                    new ReadWriteRoutingDataSource(new HikariDataSource(), List.of(first, second), selection);
+            first.setInSync(false);
+            second.setInSync(false);
+            assertNull(dataSource.selectReplica());
+
+            second.setInSync(true);
+            for (int i = 0; i < 4; i++) {
+                assertSame(second, dataSource.selectReplica());
+            }
+
+            first.setInSync(true);
+            if (selection == ReplicaSelection.ROUND_ROBIN) {
+                assertNotSame(dataSource.selectReplica(), dataSource.selectReplica());
+            } else {
+                assertNotNull(dataSource.selectReplica());
+            }
+        }
+    }
+}
@@ -1,15 +1,22 @@
 package com.example.movieApp.service;
 
+import com.example.movieApp.cluster.MovieNearCache;
 import com.example.movieApp.dto.request.MovieRequest;
+import com.example.movieApp.dto.response.MovieBatchResponse;
 import com.example.movieApp.dto.response.MovieResponse;
 import com.example.movieApp.entity.Movie;
+import com.example.movieApp.event.MovieChangedEvent;
 import com.example.movieApp.exception.listexception.NotFoundException;
+import com.example.movieApp.index.MovieIdIndex;
+import com.example.movieApp.index.SimilarMoviesIndex;
+import com.example.movieApp.replica.MovieCatalogReplica;
 import com.example.movieApp.repository.MovieRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
@@ -17,7 +24,13 @@ import org.springframework.http.ResponseEntity;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -29,6 +42,21 @@ public class MovieServiceImplTest {
     @Mock
     private MovieRepository movieRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private MovieCatalogReplica catalogReplica;
+
+    @Mock
+    private MovieIdIndex movieIdIndex;
+
+    @Mock
+    private MovieNearCache nearCache;
+
+    @Mock
+    private SimilarMoviesIndex similarMoviesIndex;
+
     @InjectMocks
     private MovieServiceImpl movieService;
 
@@ -116,6 +144,26 @@ public class MovieServiceImplTest {
         verify(movieRepository, times(1)).findById(movieId);
     }
 
+    /**
+     * Verifica que getMoviesByIds resuelva todos los IDs con una sola consulta,
+     * devuelva las películas en el orden pedido (sin repetir IDs duplicados)
+     * y liste aparte los IDs que no existen.
+     */
+    @Test
+    void testGetMoviesByIds() {
+        Movie inception = new Movie(1, "Inception", "Sci-Fi", "Warner Bros", 8, 2010);
+        Movie up = new Movie(3, "Up", "Animation", "Pixar", 8, 2009);
+
+        when(movieRepository.findAllById(List.of(3, 2, 1))).thenReturn(List.of(inception, up));
+
+        MovieBatchResponse response = movieService.getMoviesByIds(List.of(3, 2, 1, 3));
+
+        assertEquals(List.of(3, 1), response.getMovies().stream().map(MovieResponse::getId).toList());
+        assertEquals(List.of(2), response.getMissing());
+        verify(movieRepository, times(1)).findAllById(any());
+        verify(movieRepository, never()).findById(any());
+    }
+
     /**
      * Valida que getMovieById lance una NotFoundException cuando se busca
      * una película por un ID que no existe, y que el mensaje de error sea correcto.
@@ -191,4 +239,84 @@ public class MovieServiceImplTest {
 
         assertEquals("Película no encontrada con id: " + movieId, exception.getMessage());
     }
+
+    /**
+     * Verifica que applyScores cargue todas las películas del lote con una
+     * sola consulta, les asigne la nueva puntuación e ignore los IDs que no
+     * existen.
+     */
+    @Test
+    void testApplyScores() {
+        Movie movie1 = new Movie(1, "Inception", "Sci-Fi", "Warner Bros", 8, 2010);
+        Movie movie2 = new Movie(2, "The Dark Knight", "Action", "Warner Bros", 9, 2008);
+
+        when(movieRepository.findAllById(any())).thenReturn(Arrays.asList(movie1, movie2));
+
+        int updated = movieService.applyScores(Map.of(1, 6, 2, 10, 3, 4));
+
+        assertEquals(2, updated);
+        assertEquals(6, movie1.getScore());
+        assertEquals(10, movie2.getScore());
+        verify(movieRepository, times(1)).findAllById(any());
+        verify(movieRepository, never()).save(any(Movie.class));
+    }
+
+    /**
+     * Verifica que con el índice de IDs cargado una película inexistente
+     * se resuelva como NotFoundException sin consultar el repositorio.
+     */
+    @Test
+    void testGetMovieByIdNotFoundSkipsDatabaseWhenIndexKnowsId() {
+        int movieId = 999;
+
+        when(movieIdIndex.isReady()).thenReturn(true);
+        when(movieIdIndex.mightContain(movieId)).thenReturn(false);
+
+        NotFoundException exception = assertThrows(NotFoundException.class, () -> {
+            movieService.getMovieById(movieId);
+        });
+
+        assertEquals("Película no encontrada con id: " + movieId, exception.getMessage());
+        assertEquals(0, exception.getStackTrace().length);
+        verifyNoInteractions(movieRepository);
+    }
+
+    /**
+     * Verifica la lectura de las propias escrituras con las consultas compartidas:
+     * un getMovieById que empieza después de confirmarse un cambio no se une a la
+     * consulta que ya estaba en curso y devuelve el valor nuevo, mientras que la
+     * llamada anterior al cambio recibe el valor de su propia consulta.
+     */
+    @Test
+    void testGetMovieByIdAfterCommittedChangeDoesNotJoinEarlierLoad() throws Exception {
+        int movieId = 1;
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        when(movieRepository.findById(movieId))
+                .thenAnswer(invocation -> {
+                    loading.countDown();
+                    release.await();
+                    return Optional.of(new Movie(movieId, "Inception", "Sci-Fi", "Warner Bros", 8, 2010));
+                })
+                .thenReturn(Optional.of(new Movie(movieId, "Inception", "Sci-Fi", "Warner Bros", 10, 2010)));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<MovieResponse> before = executor.submit(() -> movieService.getMovieById(movieId));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            movieService.onMovieChanged(MovieChangedEvent.updated(
+                    new MovieResponse(movieId, "Inception", "Sci-Fi", "Warner Bros", 10, 2010)));
+            Future<MovieResponse> after = executor.submit(() -> movieService.getMovieById(movieId));
+
+            assertEquals(10, after.get(5, TimeUnit.SECONDS).getScore());
+            release.countDown();
+            assertEquals(8, before.get(5, TimeUnit.SECONDS).getScore());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+        verify(movieRepository, times(2)).findById(movieId);
+    }
 }
@@ -0,0 +1,112 @@
+package com.example.movieApp.service.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    /**
+     * Verifica que llamadas concurrentes con la misma clave ejecuten la carga
+     * una sola vez y reciban todas el mismo resultado.
+     */
+    @Test
+    void testConcurrentCallsShareOneLoad() throws Exception {
+        SingleFlight<Integer, String> flights = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = callConcurrently(() -> flights.execute(1, () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "Inception";
+        }), release);
+
+        for (Future<String> result : results) {
+            assertEquals("Inception", result.get());
+        }
+        assertEquals(1, loads.get());
+    }
+
+    /**
+     * Valida que si la carga falla todas las llamadas en espera reciban la
+     * misma excepción, y que la clave se libere para volver a intentarlo.
+     */
+    @Test
+    void testFailureIsSharedAndKeyIsReleased() throws Exception {
+        SingleFlight<Integer, String> flights = new SingleFlight<>();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = callConcurrently(() -> flights.execute(1, () -> {
+            await(release);
+            throw new IllegalStateException("Película no encontrada con id: 1");
+        }), release);
+
+        for (Future<String> result : results) {
+            Exception exception = assertThrows(Exception.class, result::get);
+            assertInstanceOf(IllegalStateException.class, exception.getCause());
+        }
+        assertEquals("Up", flights.execute(1, () -> "Up"));
+    }
+
+    /**
+     * Lanza {@link #CALLERS} llamadas y libera la carga cuando todas están
+     * bloqueadas (la primera en la carga y el resto esperando su resultado).
+     */
+    private static List<Future<String>> callConcurrently(Callable<String> call,
+                                                         CountDownLatch release) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        List<Thread> threads = new ArrayList<>();
+        List<Future<String>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> {
+                    synchronized (threads) {
+                        threads.add(Thread.currentThread());
+                    }
+                    return call.call();
+                }));
+            }
+            while (!allWaiting(threads)) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+            for (Future<String> result : results) {
+                try {
+                    result.get();
+                } catch (Exception ignored) {
+                    // Se comprueba en cada test.
+                }
+            }
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static boolean allWaiting(List<Thread> threads) {
+        synchronized (threads) {
+            return threads.size() == CALLERS
+                    && threads.stream().allMatch(thread -> thread.getState() == Thread.State.WAITING);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.movieApp.writebehind;
+
+import com.example.movieApp.exception.listexception.NotFoundException;
+import com.example.movieApp.exception.listexception.TooManyRequestsException;
+import com.example.movieApp.index.MovieIdIndex;
+import com.example.movieApp.service.interfaces.MovieService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ScoreWriteBehindBufferTest {
+
+    @Mock
+    private MovieService movieService;
+
+    @Mock
+    private MovieIdIndex movieIdIndex;
+
+    /**
+     * Verifica que varias puntuaciones de la misma película se agrupen y que
+     * el volcado envíe solo la última, en un único lote.
+     */
+    @Test
+    void testFlushCoalescesUpdatesPerMovie() {
+        ScoreWriteBehindBuffer buffer = new ScoreWriteBehindBuffer(movieService, movieIdIndex, true, 100, 500, 200);
+
+        buffer.submit(1, 5);
+        buffer.submit(1, 7);
+        buffer.submit(2, 3);
+        buffer.submit(1, 9);
+
+        assertEquals(2, buffer.pendingCount());
+
+        buffer.flush();
+
+        verify(movieService, times(1)).applyScores(Map.of(1, 9, 2, 3));
+        assertEquals(0, buffer.pendingCount());
+    }
+
+    /**
+     * Valida la contrapresión: con el buffer lleno una película nueva se
+     * rechaza con TooManyRequestsException, pero una que ya estaba pendiente
+     * se sigue aceptando porque no ocupa más sitio.
+     */
+    @Test
+    void testSubmitRejectsNewMoviesWhenFull() {
+        ScoreWriteBehindBuffer buffer = new ScoreWriteBehindBuffer(movieService, movieIdIndex, true, 2, 500, 1500);
+
+        buffer.submit(1, 5);
+        buffer.submit(2, 5);
+        buffer.submit(1, 6);
+
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class, () -> buffer.submit(3, 5));
+
+        assertEquals(2, exception.getRetryAfterSeconds());
+        assertEquals(2, buffer.pendingCount());
+    }
+
+    /**
+     * Comprueba que si el volcado falla las puntuaciones sigan pendientes y
+     * se escriban en el siguiente intento.
+     */
+    @Test
+    void testFailedFlushKeepsPendingScores() {
+        ScoreWriteBehindBuffer buffer = new ScoreWriteBehindBuffer(movieService, movieIdIndex, true, 100, 500, 200);
+        when(movieService.applyScores(anyMap()))
+                .thenThrow(new IllegalStateException("base de datos no disponible"))
+                .thenReturn(1);
+
+        buffer.submit(1, 8);
+        buffer.flush();
+
+        assertEquals(1, buffer.pendingCount());
+
+        buffer.flush();
+
+        verify(movieService, times(2)).applyScores(Map.of(1, 8));
+        assertEquals(0, buffer.pendingCount());
+    }
+
+    /**
+     * Valida que una puntuación para un ID que el índice sabe inexistente se
+     * rechace con NotFoundException en lugar de quedar pendiente.
+     */
+    @Test
+    void testSubmitRejectsUnknownMovie() {
+        ScoreWriteBehindBuffer buffer = new ScoreWriteBehindBuffer(movieService, movieIdIndex, true, 100, 500, 200);
+        when(movieIdIndex.isReady()).thenReturn(true);
+        when(movieIdIndex.mightContain(99)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> buffer.submit(99, 5));
+
+        assertEquals(0, buffer.pendingCount());
+    }
+
+    /**
+     * Comprueba que descartar una película (PUT o DELETE) quite su puntuación
+     * pendiente y que el volcado ya no la escriba.
+     */
+    @Test
+    void testDiscardDropsPendingScore() {
+        ScoreWriteBehindBuffer buffer = new ScoreWriteBehindBuffer(movieService, movieIdIndex, true, 100, 500, 200);
+
+        buffer.submit(1, 5);
+        buffer.submit(2, 7);
+        buffer.discard(1);
+        buffer.discard(3);
+
+        assertEquals(1, buffer.pendingCount());
+
+        buffer.flush();
+
+        verify(movieService, times(1)).applyScores(Map.of(2, 7));
+    }
+}